@@ -43,7 +43,7 @@ public class APISteps extends ApiResuableComponents {
 		if(payload.equalsIgnoreCase("NA"))
 			postBodyContent=null;
 		else
-			postBodyContent=readTemplate(TestHarness.data.get("General_Data"),"payload/"+payload);
+			postBodyContent=readTemplate(th.getSheetData("General_Data"),"payload/"+payload);
 		response = apiDriver.sendNReceive(endpturl, SERVICEMETHOD.valueOf(requestname), SERVICEFORMAT.JSON, postBodyContent, map,
 				200);		
 	}
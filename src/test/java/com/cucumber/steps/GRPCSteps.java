@@ -19,7 +19,7 @@ public class GRPCSteps extends GRPCComponents {
 	}
 
 	public void postLogin() {
-		HashMap<String, String> datamap = TestHarness.data.get("General_Data");
+		HashMap<String, String> datamap = harness.getSheetData("General_Data");
 		gRPCrequest("spoke", api.readTemplate(datamap,"payload/Login"), "sands.live_dealer.spoke.Spoke/Login");
 	}
 
@@ -17,6 +17,7 @@ package com.cucumber.steps;
 
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
@@ -26,6 +27,7 @@ import com.microsoft.playwright.*;
 import com.framework.components.Settings;
 import com.framework.cucumber.DriverManager;
 import com.framework.cucumber.TestHarness;
+import com.framework.data.OutputDataSink;
 import com.framework.selenium.CustomDriver;
 import com.framework.selenium.CloudPlatformWebDriverFactory;
 
@@ -37,7 +39,7 @@ import io.cucumber.java.Scenario;
 
 public class Hooks {
 	static CustomDriver driver ;
-	static Integer i=0;
+	static AtomicInteger i=new AtomicInteger();
 	private TestHarness testHarness;
 	public ApplitoolsOperations appli = new ApplitoolsOperations();
 	Properties properties = Settings.getInstance();
@@ -155,10 +157,10 @@ public class Hooks {
 	 */
 	@AfterStep
 	public void captureContent(Scenario sc) {
+		int screen = i.getAndIncrement();
 		if(properties.get("AfterStepAppliTools").toString().equalsIgnoreCase("True"))
-			appli.captureContent(sc.getName()+sc.getLine()+"screen"+i);
-		CloudPlatformWebDriverFactory.captureSaucescreener(sc.getLine()+"screen"+i);
-		i++;
+			appli.captureContent(sc.getName()+sc.getLine()+"screen"+screen);
+		CloudPlatformWebDriverFactory.captureSaucescreener(sc.getLine()+"screen"+screen);
 	}
 
 
@@ -169,6 +171,10 @@ public class Hooks {
 	 */
 	@After
 	public void tearDown(Scenario scenario) throws IOException {
+		// Write the output values buffered during the scenario
+		OutputDataSink.flushAll();
+		DriverManager.clearTestData();
+
 		// Close Playwright if it was used
 		if (isPlaywrightExecution()) {
 			DriverManager.closePlaywrightResources();
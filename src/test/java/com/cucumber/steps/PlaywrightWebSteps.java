@@ -1,5 +1,6 @@
 package com.cucumber.steps;
 
+import java.util.Map;
 import java.util.Properties;
 
 import com.framework.components.Settings;
@@ -7,6 +8,7 @@ import com.framework.cucumber.TestHarness;
 import com.framework.cucumber.DriverManager;
 
 import com.framework.reusable.WebPWReusableComponents;
+import com.pages.PlaywrightLoginPage;
 import com.pages.PlaywrightWebPage;
 import com.microsoft.playwright.*;
 
@@ -57,6 +59,21 @@ public class PlaywrightWebSteps extends WebPWReusableComponents {
         webPage.enterPassword(password);
     }
 
+    @Given("User is logged in to playwright application using {string}")
+    public void login_playwright_application(String tcid) {
+        testHarness.initializeTestData(tcid);
+        String userName = testHarness.getData("General_Data", "UserName");
+        String password = testHarness.getData("General_Data", "Password");
+        // The role column is optional in the datatable
+        Map<String, String> generalData = testHarness.getSheetData("General_Data");
+        String role = generalData == null ? null : generalData.get("Role");
+        new PlaywrightLoginPage(DriverManager.getPage()).loginWithCachedSession(userName, password, role);
+        
+        // A cached session is restored on a new page
+        webPage = null;
+        initializePageObjects();
+    }
+
     @When("User clicks playwright Login button")
     public void click_playwright_login_button() {
         initializePageObjects();
@@ -0,0 +1,256 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.framework.data.ExcelDataAccess;
+
+/**
+ * Immutable execution plan of the business flow of a test case, compiled once
+ * per JVM from the Business_Flow sheet. The "Keyword,count" entries of the
+ * flow are expanded into steps holding the resolved keyword and the
+ * sub-iteration of the keyword, so that an iteration of the test case walks
+ * the steps in order
+ *
+ * @author Qualitest
+ */
+public final class BusinessFlowPlan {
+	private static final Logger log = LogManager.getLogger(BusinessFlowPlan.class);
+	private static final String BUSINESS_FLOW_SHEET = "Business_Flow";
+	private static final Map<String, BusinessFlowPlan> BUSINESS_FLOW_PLANS = new ConcurrentHashMap<String, BusinessFlowPlan>();
+	// The validation errors of each datatable (empty if all its business flows are valid)
+	private static final Map<String, List<String>> VALIDATED_DATATABLES = new ConcurrentHashMap<String, List<String>>();
+
+	private final Step[] steps;
+	private final List<Step> stepList;
+
+	private BusinessFlowPlan(Step[] steps) {
+		this.steps = steps;
+		this.stepList = Collections.unmodifiableList(Arrays.asList(steps));
+	}
+
+	/**
+	 * Function to get the plan of the business flow of a test case, compiling
+	 * it on the first call
+	 *
+	 * @param datatablePath
+	 *            The path of the datatables folder
+	 * @param scenario
+	 *            The name of the datatable holding the business flow
+	 * @param testcase
+	 *            The test case
+	 * @return The {@link BusinessFlowPlan}
+	 */
+	public static BusinessFlowPlan forTestCase(String datatablePath, String scenario, String testcase) {
+		return BUSINESS_FLOW_PLANS.computeIfAbsent(datatablePath + "|" + scenario + "|" + testcase,
+				key -> compile(testcase, readBusinessFlow(getBusinessFlowAccess(datatablePath, scenario), testcase)));
+	}
+
+	/**
+	 * Function to check that every keyword of every business flow of a
+	 * datatable resolves, without running any of them. The datatable is
+	 * checked once per JVM, the errors are logged as warnings, and the plans of
+	 * its valid business flows are kept for the test cases. A test case with
+	 * an invalid business flow fails when its own plan is requested through
+	 * {@link #forTestCase(String, String, String)}
+	 *
+	 * @param datatablePath
+	 *            The path of the datatables folder
+	 * @param scenario
+	 *            The name of the datatable holding the business flows
+	 * @return The validation errors of the business flows of the datatable
+	 *         (empty if all of them are valid)
+	 */
+	public static List<String> validateBusinessFlows(String datatablePath, String scenario) {
+		return VALIDATED_DATATABLES.computeIfAbsent(datatablePath + "|" + scenario, key -> {
+			ExcelDataAccess businessFlowAccess = getBusinessFlowAccess(datatablePath, scenario);
+			List<String> flowErrors = new ArrayList<String>();
+			for (int rowNum = 1; rowNum <= businessFlowAccess.getLastRowNum(); rowNum++) {
+				String testcase = businessFlowAccess.getValue(rowNum, 0);
+				if ("".equals(testcase)) {
+					continue;
+				}
+				try {
+					forTestCase(datatablePath, scenario, testcase);
+				} catch (FrameworkException e) {
+					flowErrors.add(e.getMessage());
+					log.warn("Business Flow Validation of " + scenario + ": " + e.getMessage());
+				}
+			}
+			return Collections.unmodifiableList(flowErrors);
+		});
+	}
+
+	private static ExcelDataAccess getBusinessFlowAccess(String datatablePath, String scenario) {
+		ExcelDataAccess businessFlowAccess = new ExcelDataAccess(datatablePath, scenario);
+		businessFlowAccess.setDatasheetName(BUSINESS_FLOW_SHEET);
+		return businessFlowAccess;
+	}
+
+	private static List<String> readBusinessFlow(ExcelDataAccess businessFlowAccess, String testcase) {
+		int rowNum = businessFlowAccess.getRowNum(testcase, 0);
+		if (rowNum == -1) {
+			throw new FrameworkException("The test case \"" + testcase + "\" is not found in the Business Flow sheet!");
+		}
+
+		List<String> businessFlowData = new ArrayList<String>();
+		int currentColumnNum = 1;
+		String dataValue;
+		while (!"".equals(dataValue = businessFlowAccess.getValue(rowNum, currentColumnNum))) {
+			businessFlowData.add(dataValue);
+			currentColumnNum++;
+		}
+
+		if (businessFlowData.isEmpty()) {
+			throw new FrameworkException("No business flow found against the test case \"" + testcase + "\"");
+		}
+		return businessFlowData;
+	}
+
+	/**
+	 * Function to compile a business flow
+	 *
+	 * @param testcase
+	 *            The test case of the business flow
+	 * @param businessFlowData
+	 *            The "Keyword" or "Keyword,count" entries of the business flow
+	 * @return The {@link BusinessFlowPlan}
+	 * @throws FrameworkException
+	 *             If the business flow holds an unknown keyword or an invalid
+	 *             keyword count
+	 */
+	public static BusinessFlowPlan compile(String testcase, List<String> businessFlowData) {
+		KeywordRegistry keywordRegistry = KeywordRegistry.getInstance();
+		Map<String, Integer> keywordDirectory = new HashMap<String, Integer>();
+		List<Step> steps = new ArrayList<Step>();
+		List<String> errors = new ArrayList<String>();
+
+		for (String flowData : businessFlowData) {
+			String[] currentFlowData = flowData.split(",");
+			String currentKeyword = currentFlowData[0];
+
+			int nKeywordIterations = 1;
+			if (currentFlowData.length > 1) {
+				try {
+					nKeywordIterations = Integer.parseInt(currentFlowData[1].trim());
+				} catch (NumberFormatException e) {
+					errors.add("Invalid count \"" + currentFlowData[1] + "\" of keyword " + currentKeyword);
+					continue;
+				}
+			}
+
+			KeywordRegistry.Keyword keyword = keywordRegistry.getKeyword(currentKeyword);
+			if (keyword == null) {
+				errors.add("Keyword " + KeywordRegistry.toMethodName(currentKeyword)
+						+ " not found within any class inside the businesscomponents package");
+				continue;
+			}
+
+			for (int currentKeywordIteration = 0; currentKeywordIteration < nKeywordIterations; currentKeywordIteration++) {
+				int currentSubIteration = keywordDirectory.merge(currentKeyword, 1, Integer::sum);
+				steps.add(new Step(currentKeyword, currentSubIteration, keyword));
+			}
+		}
+
+		if (!errors.isEmpty()) {
+			throw new FrameworkException("The business flow of the test case \"" + testcase + "\" is invalid: "
+					+ String.join("; ", errors));
+		}
+		return new BusinessFlowPlan(steps.toArray(new Step[0]));
+	}
+
+	/**
+	 * Function to get the steps of the business flow, in execution order
+	 *
+	 * @return The unmodifiable list of the steps
+	 */
+	public List<Step> getSteps() {
+		return stepList;
+	}
+
+	/**
+	 * Function to get the number of steps of the business flow
+	 *
+	 * @return The number of steps
+	 */
+	public int size() {
+		return steps.length;
+	}
+
+	/**
+	 * A keyword invocation of the business flow
+	 */
+	public static final class Step {
+		private final String keywordName;
+		private final String nodeName;
+		private final int subIteration;
+		private final KeywordRegistry.Keyword keyword;
+
+		private Step(String keywordName, int subIteration, KeywordRegistry.Keyword keyword) {
+			this.keywordName = keywordName;
+			this.nodeName = KeywordRegistry.toMethodName(keywordName);
+			this.subIteration = subIteration;
+			this.keyword = keyword;
+		}
+
+		/**
+		 * Function to get the keyword as named in the business flow
+		 *
+		 * @return The keyword name
+		 */
+		public String getKeywordName() {
+			return keywordName;
+		}
+
+		/**
+		 * Function to get the name of the report node of the step
+		 *
+		 * @return The keyword name in lower camel case
+		 */
+		public String getNodeName() {
+			return nodeName;
+		}
+
+		/**
+		 * Function to get the sub-iteration of the keyword within the business
+		 * flow
+		 *
+		 * @return The sub-iteration, from 1
+		 */
+		public int getSubIteration() {
+			return subIteration;
+		}
+
+		/**
+		 * Function to get the resolved keyword
+		 *
+		 * @return The {@link KeywordRegistry.Keyword}
+		 */
+		public KeywordRegistry.Keyword getKeyword() {
+			return keyword;
+		}
+	}
+}
@@ -15,34 +15,34 @@
  */
 package com.framework.components;
 
-import java.io.File;
-import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.framework.selenium.*;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import com.framework.data.AccessDatabase;
 import com.framework.data.CsvReader;
+import com.framework.data.DatatableOverlay;
 import com.framework.data.FrameworkDataTable;
 import com.framework.data.ExcelDataAccess;
 import com.framework.data.JsonData;
+import com.framework.data.OutputDataSink;
 import com.framework.report.ExtentReport;
 import com.framework.report.ReportSettings;
 import com.framework.report.ReportTheme;
@@ -62,7 +62,7 @@ import io.appium.java_client.AppiumDriver;
  * @author Qualitest
  */
 public class DriverScript {
-	private List<String> businessFlowData;
+	private BusinessFlowPlan businessFlowPlan;
 	private int currentIteration;
 	private Date startTime, endTime;
 	private String executionTime;
@@ -76,7 +76,11 @@ public class DriverScript {
 	private Properties properties;
 	private Properties mobileProperties;
 	private final FrameworkParameters frameworkParameters = FrameworkParameters.getInstance();
+	private final WebDriverPool webDriverPool = WebDriverPool.getInstance();
 	private int  currentSubIteration;
+	private boolean remainingIterationsSkipped;
+	private boolean iterationTestCaseSetUp;
+	private boolean sharesTestCaseSession;
 	private Boolean linkScreenshotsToTestLog = true;
 	private final SeleniumTestParameters testParameters;
 	private String reportPath;
@@ -95,6 +99,31 @@ public class DriverScript {
 		this.testParameters = testParameters;
 	}
 
+	/**
+	 * DriverScript constructor for the iterations of a test case run in parallel
+	 * on one driver session
+	 * 
+	 * @param testCaseScript  The {@link DriverScript} of the test case
+	 * @param iterationDriver The {@link CustomDriver} running the iterations
+	 * @param testCaseSession Whether the iterations run on the session of the
+	 *                        test case, which is set up and torn down by the
+	 *                        {@link DriverScript} of the test case
+	 */
+	private DriverScript(DriverScript testCaseScript, CustomDriver iterationDriver, boolean testCaseSession) {
+		this.testParameters = testCaseScript.testParameters;
+		this.properties = testCaseScript.properties;
+		this.mobileProperties = testCaseScript.mobileProperties;
+		this.businessFlowPlan = testCaseScript.businessFlowPlan;
+		this.reportSettings = testCaseScript.reportSettings;
+		this.reportPath = testCaseScript.reportPath;
+		this.driver = iterationDriver;
+		this.rpt.rpt = testCaseScript.rpt.rpt;
+		this.sharesTestCaseSession = testCaseSession;
+		if (properties.getProperty("ExecutionApproach").equalsIgnoreCase("MODULAR")) {
+			testCase = testCaseSession ? testCaseScript.testCase : getTestCaseInstance();
+		}
+	}
+
 	/**
 	 * Function to configure the linking of screenshots to the corresponding test
 	 * log
@@ -150,6 +179,12 @@ public class DriverScript {
 	public void driveTestExecution() {
 		startUp();
 		initializeTestIterations();
+		try {
+			initializeBusinessFlow();
+		} catch (FrameworkException fx) {
+			reportBusinessFlowError(fx);
+			return;
+		}
 		initializeWebDriver();
 		initializeTestReport();
 		initializeDatatable();
@@ -206,42 +241,37 @@ public class DriverScript {
 
 		}
 		apiDriver.setReport(report);
-		initializeBusinessFlow();
 	}
 
 	/**
-	 * Function to initialize the Business Flow received from test Scripts
+	 * Function to initialize the Business Flow received from test Scripts, before
+	 * the driver is started so that an unknown keyword fails the test at once
 	 */
 	private void initializeBusinessFlow() {
+		if (!properties.getProperty("ExecutionApproach").equalsIgnoreCase("KEYWORD")) {
+			return;
+		}
+
 		String encryptedBusinessFlowAccess = WhitelistingPath.cleanStringForFilePath(
 				frameworkParameters.getRelativePath() + Util.getFileSeparator() + "src" + Util.getFileSeparator()
 				+ "test" + Util.getFileSeparator() + "resources" + Util.getFileSeparator() + "datatables");
-		ExcelDataAccess businessFlowAccess = new ExcelDataAccess(encryptedBusinessFlowAccess,
-				testParameters.getCurrentScenario());
-		businessFlowAccess.setDatasheetName("Business_Flow");
-
-		int rowNum = businessFlowAccess.getRowNum(testParameters.getCurrentTestcase(), 0);
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + testParameters.getCurrentTestcase()
-			+ "\" is not found in the Business Flow sheet!");
-		}
-
-		String dataValue;
-		businessFlowData = new ArrayList<String>();
-		int currentColumnNum = 1;
-		while (true) {
-			dataValue = businessFlowAccess.getValue(rowNum, currentColumnNum);
-			if ("".equals(dataValue)) {
-				break;
-			}
-			businessFlowData.add(dataValue);
-			currentColumnNum++;
+		if (Boolean.parseBoolean(properties.getProperty("ValidateBusinessFlows", "True"))) {
+			BusinessFlowPlan.validateBusinessFlows(encryptedBusinessFlowAccess, testParameters.getCurrentScenario());
 		}
+		businessFlowPlan = BusinessFlowPlan.forTestCase(encryptedBusinessFlowAccess,
+				testParameters.getCurrentScenario(), testParameters.getCurrentTestcase());
+	}
 
-		if (businessFlowData.isEmpty()) {
-			throw new FrameworkException(
-					"No business flow found against the test case \"" + testParameters.getCurrentTestcase() + "\"");
-		}
+	/**
+	 * Function to fail the test case with the error of its business flow,
+	 * without starting the driver
+	 */
+	private void reportBusinessFlowError(FrameworkException fx) {
+		initializeTestReport();
+		reportSettings.setTakeScreenshotFailedStep(false); // No driver session to take it from
+		rpt.createTestcase(testParameters.getCurrentTestcase());
+		addExceptionLogs(fx.getErrorName(), fx.getMessage(), Status.FAIL);
+		wrapUp();
 	}
 
 	/**
@@ -276,6 +306,7 @@ public class DriverScript {
 	private void initializeTestIterations() {
 		switch (testParameters.getIterationMode()) {
 		case RUN_ALL_ITERATIONS:
+		case RUN_ALL_ITERATIONS_IN_PARALLEL:
 			int nIterations = getNumberOfIterations();
 			testParameters.setEndIteration(nIterations);
 
@@ -313,6 +344,14 @@ public class DriverScript {
 		return testDataAccess.getRowCount(testParameters.getCurrentTestcase(), 0);
 
 	}
+	/**
+	 * Function to create a new RemoteWebDriver session on the Selenium Grid
+	 */
+	private WebDriver createRemoteGridDriver() {
+		return WebDriverFactory.getRemoteWebDriver(testParameters.getBrowser(), testParameters.getBrowserVersion(),
+				testParameters.getPlatform(), properties.getProperty("RemoteUrl"));
+	}
+
 	/**
 	 * Function to initialize the Custom Driver for Web, Mobile and Windows
 	 */
@@ -321,16 +360,18 @@ public class DriverScript {
 		switch (testParameters.getExecutionMode()) {
 
 		case LOCAL:
-			WebDriver webDriver = WebDriverFactory.getWebDriver(testParameters);
+			WebDriver webDriver = webDriverPool.isPoolingEnabled(testParameters)
+					? webDriverPool.checkOut(testParameters, () -> WebDriverFactory.getWebDriver(testParameters))
+					: WebDriverFactory.getWebDriver(testParameters);
 			driver = new CustomDriver(webDriver);
 			driver.setTestParameters(testParameters);
 			maximizeWindow();
 			break;
 
 		case GRID:
-			WebDriver remoteGridDriver = WebDriverFactory.getRemoteWebDriver(testParameters.getBrowser(),
-					testParameters.getBrowserVersion(), testParameters.getPlatform(),
-					properties.getProperty("RemoteUrl"));
+			WebDriver remoteGridDriver = webDriverPool.isPoolingEnabled(testParameters)
+					? webDriverPool.checkOut(testParameters, this::createRemoteGridDriver)
+					: createRemoteGridDriver();
 			driver = new CustomDriver(remoteGridDriver);
 			driver.setTestParameters(testParameters);
 			maximizeWindow();
@@ -512,50 +553,16 @@ public class DriverScript {
 		switch(properties.getProperty("TestData").toString()) {
 
 		case "EXCEL":
-			String encryptedDatatablePath = WhitelistingPath.cleanStringForFilePath(
-					datatablePath + Util.getFileSeparator() + testParameters.getCurrentScenario() + ".xls");
-
-			String runTimeDatatablePath;
+			dataTable = new FrameworkDataTable(datatablePath, testParameters.getCurrentScenario());
 			Boolean includeTestDataInReport = Boolean.parseBoolean(properties.getProperty("IncludeTestDataInReport"));
 			if (includeTestDataInReport) {
-				runTimeDatatablePath = reportPath + Util.getFileSeparator() + "datatables";
-				String encryptedRunTimeDatatablePath = WhitelistingPath.cleanStringForFilePath(
-						runTimeDatatablePath + Util.getFileSeparator() + testParameters.getCurrentScenario() + ".xls");
-
-				File runTimeDatatable = new File(encryptedRunTimeDatatablePath);
-				if (!runTimeDatatable.exists()) {
-					File datatable = new File(encryptedDatatablePath);
-
-					try {
-						FileUtils.copyFile(datatable, runTimeDatatable);
-					} catch (IOException e) {
-						e.printStackTrace();
-						throw new FrameworkException(
-								"Error in creating run-time datatable: Copying the datatable failed...");
-					}
-				}
-
-				String encryptedRunTimeCommonDatatable = WhitelistingPath
-						.cleanStringForFilePath(runTimeDatatablePath + Util.getFileSeparator() + "Common Testdata.xls");
-				File runTimeCommonDatatable = new File(encryptedRunTimeCommonDatatable);
-				if (!runTimeCommonDatatable.exists()) {
-					String encryptedCommonDatatable = WhitelistingPath
-							.cleanStringForFilePath(datatablePath + Util.getFileSeparator() + "Common Testdata.xls");
-					File commonDatatable = new File(encryptedCommonDatatable);
-
-					try {
-						FileUtils.copyFile(commonDatatable, runTimeCommonDatatable);
-					} catch (IOException e) {
-						e.printStackTrace();
-						throw new FrameworkException(
-								"Error in creating run-time datatable: Copying the common datatable failed...");
-					}
-				}
-			} else {
-				runTimeDatatablePath = datatablePath;
+				// The datatables are copied into the report folder once, at the wrap-up
+				DatatableOverlay datatableOverlay = DatatableOverlay.getInstance(datatablePath,
+						reportPath + Util.getFileSeparator() + "datatables");
+				datatableOverlay.include(testParameters.getCurrentScenario());
+				datatableOverlay.include("Common Testdata");
+				dataTable.setDatatableOverlay(datatableOverlay);
 			}
-
-			dataTable = new FrameworkDataTable(runTimeDatatablePath, testParameters.getCurrentScenario());
 			dataTable.setDataReferenceIdentifier(properties.getProperty("DataReferenceIdentifier"));
 			dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration);
 			dataTable.setCurrentTestname(testParameters.getCurrentTestcase());
@@ -627,6 +634,13 @@ public class DriverScript {
 			report.updateTestLog(stepName, stepDescription, stepStatus);
 		}
 	}
+	/**
+	 * Function to skip the Test Iterations after the current one
+	 */
+	private void skipRemainingIterations() {
+		currentIteration = testParameters.getEndIteration();
+		remainingIterationsSkipped = true;
+	}
 	/**
 	 * Function to handle the exception
 	 */
@@ -651,7 +665,7 @@ public class DriverScript {
 		if (frameworkParameters.getStopExecution()) {
 			addExceptionLogs("Framework Info", "Test execution terminated by user! All subsequent tests aborted...",
 					Status.FAIL);		
-			currentIteration = testParameters.getEndIteration();
+			skipRemainingIterations();
 		} else {
 			OnError onError = OnError.valueOf(properties.getProperty("OnError"));
 			switch (onError) {
@@ -663,14 +677,14 @@ public class DriverScript {
 			case NEXT_TESTCASE:
 				addExceptionLogs("Framework Info",
 						"Test case terminated by user! Proceeding to next test case (if applicable)...", Status.FAIL);
-				currentIteration = testParameters.getEndIteration();
+				skipRemainingIterations();
 				break;
 
 			case STOP:
 				frameworkParameters.setStopExecution(true);
 				addExceptionLogs("Framework Info", "Test execution terminated by user! All subsequent tests aborted...",
 						Status.FAIL);
-				currentIteration = testParameters.getEndIteration();
+				skipRemainingIterations();
 				break;
 
 			default:
@@ -697,7 +711,8 @@ public class DriverScript {
 				appli.closeAppliTools();
 			}
 
-			driver.quit();
+			// Pooled sessions are reset and kept for the next test; others are quit
+			webDriverPool.checkIn(driver.getWebDriver());
 			break;
 
 		case SAUCELABS:
@@ -739,6 +754,8 @@ public class DriverScript {
 	 * Function to wrap up the test
 	 */
 	private void wrapUp() {
+		OutputDataSink.flushAll();
+		DatatableOverlay.materialiseAll();
 		endTime = WebReusableComponents.getCurrentTime();
 		closeTestReport();
 	}
@@ -785,105 +802,203 @@ public class DriverScript {
 	 * Function to execute Test Iterations
 	 */
 	private void executeTestIterations() {
-		while (currentIteration <= testParameters.getEndIteration()) {
-			report.addTestLogSection("Iteration: " + Integer.toString(currentIteration));
+		if (testParameters.getIterationMode() == IterationOptions.RUN_ALL_ITERATIONS_IN_PARALLEL
+				&& supportsParallelIterations()) {
+			executeTestIterationsInParallel();
+			return;
+		}
 
-			try {
-				if(properties.getProperty("ExecutionApproach").equalsIgnoreCase("KEYWORD")) {
-					rpt.createTestcase(testParameters.getCurrentTestcase());
-					executeTestcase(businessFlowData);
-				} else {
-					rpt.createNode("Iteration: " + Integer.toString(currentIteration));
-					testCase.executeTest();
-				}
-			} catch (FrameworkException fx) {
-				exceptionHandler(fx, fx.getErrorName());
-			} catch (Exception ex) {
-				exceptionHandler(ex, "Error");
-			}
+		while (currentIteration <= testParameters.getEndIteration()) {
+			executeIteration();
 
 			currentIteration++;
 			dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration);
 		}
 	}
 	/**
-	 * Function to execute Test case with business flow
+	 * Function to execute the current Test Iteration
 	 */
-	private void executeTestcase(List<String> businessFlowData)
-			throws IllegalAccessException, InvocationTargetException, ClassNotFoundException, InstantiationException {
-		Map<String, Integer> keywordDirectory = new HashMap<String, Integer>();
+	private void executeIteration() {
+		report.addTestLogSection("Iteration: " + Integer.toString(currentIteration));
 
-		for (int currentKeywordNum = 0; currentKeywordNum < businessFlowData.size(); currentKeywordNum++) {
-			String[] currentFlowData = businessFlowData.get(currentKeywordNum).split(",");
-			String currentKeyword = currentFlowData[0];
-
-			int nKeywordIterations;
-			if (currentFlowData.length > 1) {
-				nKeywordIterations = Integer.parseInt(currentFlowData[1]);
+		try {
+			if(properties.getProperty("ExecutionApproach").equalsIgnoreCase("KEYWORD")) {
+				rpt.createTestcase(testParameters.getCurrentTestcase());
+				executeTestcase(businessFlowPlan);
 			} else {
-				nKeywordIterations = 1;
+				rpt.createNode("Iteration: " + Integer.toString(currentIteration));
+				testCase.executeTest();
 			}
+		} catch (FrameworkException fx) {
+			exceptionHandler(fx, fx.getErrorName());
+		} catch (Exception ex) {
+			exceptionHandler(ex, "Error");
+		}
+	}
+	/**
+	 * Function to check if the Test Iterations can run in parallel. The other
+	 * execution modes and the Applitools checks share a single session
+	 */
+	private boolean supportsParallelIterations() {
+		switch (testParameters.getExecutionMode()) {
+		case LOCAL:
+		case GRID:
+		case API:
+			return !properties.getProperty("AppliTools").equalsIgnoreCase("TRUE");
 
-			for (int currentKeywordIteration = 0; currentKeywordIteration < nKeywordIterations; currentKeywordIteration++) {
-				if (keywordDirectory.containsKey(currentKeyword)) {
-					keywordDirectory.put(currentKeyword, keywordDirectory.get(currentKeyword) + 1);
-				} else {
-					keywordDirectory.put(currentKeyword, 1);
+		default:
+			return false;
+		}
+	}
+	/**
+	 * Function to execute the Test Iterations in parallel, each driver session
+	 * running one iteration at a time. The test logs of the iterations are kept
+	 * in memory and merged into the test log in iteration order
+	 */
+	private void executeTestIterationsInParallel() {
+		int firstIteration = currentIteration;
+		int lastIteration = testParameters.getEndIteration();
+		int nSessions = Math.max(1, Math.min(Integer.parseInt(properties.getProperty("ParallelIterations", "4")),
+				lastIteration - firstIteration + 1));
+
+		AtomicInteger nextIteration = new AtomicInteger(firstIteration);
+		AtomicBoolean skipIterations = new AtomicBoolean(false);
+		Map<Integer, SeleniumReport> iterationReports = new ConcurrentHashMap<Integer, SeleniumReport>();
+		ExecutorService sessions = Executors.newFixedThreadPool(nSessions);
+		for (int session = 0; session < nSessions; session++) {
+			boolean testCaseSession = session == 0;
+			sessions.execute(() -> {
+				CustomDriver iterationDriver;
+				try {
+					iterationDriver = testCaseSession || isAPITest() ? driver : createIterationDriver();
+				} catch (Exception ex) {
+					// The iterations are left to the other sessions
+					ex.printStackTrace();
+					return;
 				}
-				currentSubIteration = keywordDirectory.get(currentKeyword);
-
-				dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration, currentSubIteration);
 
-				if (currentSubIteration > 1) {
-					report.addTestLogSubSection(currentKeyword + " (Sub-Iteration: " + currentSubIteration + ")");
-				} else {
-					report.addTestLogSubSection(currentKeyword);
+				DriverScript iterationScript = new DriverScript(this, iterationDriver, testCaseSession);
+				try {
+					int iteration;
+					while (!skipIterations.get() && (iteration = nextIteration.getAndIncrement()) <= lastIteration) {
+						iterationReports.put(iteration, iterationScript.runIteration(this, iteration));
+						if (iterationScript.remainingIterationsSkipped) {
+							skipIterations.set(true);
+						}
+					}
+					iterationScript.tearDownIterations();
+				} finally {
+					if (!testCaseSession && iterationDriver != null) {
+						webDriverPool.checkIn(iterationDriver.getWebDriver());
+					}
 				}
+			});
+		}
+		sessions.shutdown();
+		try {
+			sessions.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		} catch (InterruptedException e) {
+			sessions.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
 
-				invokeBusinessComponent(currentKeyword);
+		for (int iteration = firstIteration; iteration <= lastIteration; iteration++) {
+			SeleniumReport iterationReport = iterationReports.get(iteration);
+			if (iterationReport != null) {
+				report.mergeIterationTestLog(iterationReport);
 			}
 		}
+		if (driver != null) {
+			driver.setReport(report);
+		}
+		if (testCase != null) {
+			// The test case is torn down with the test log of the test case
+			testCase.initialize(scriptHelper);
+		}
+
+		currentIteration = lastIteration + 1;
+		dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration);
 	}
 	/**
-	 * Function to invoke the business component with current keyword
-	 */
-	private void invokeBusinessComponent(String currentKeyword)
-			throws IllegalAccessException, InvocationTargetException, ClassNotFoundException, InstantiationException {
-		Boolean isMethodFound = false;
-		final String CLASS_FILE_EXTENSION = ".class";
-		String encryptedBusinessComponentsPath = WhitelistingPath
-				.cleanStringForFilePath(frameworkParameters.getRelativePath() + Util.getFileSeparator() + "target"
-						+ Util.getFileSeparator() + "test-classes" + Util.getFileSeparator() + "com/keyword/steps/");
-		File packageDirectory=new File(encryptedBusinessComponentsPath);
-		File[] packageFiles = packageDirectory.listFiles();
-		String packageName = "com.keyword.steps";
-		for (int i = 0; i < packageFiles.length; i++) {
-			File packageFile = packageFiles[i];
-			String fileName = packageFile.getName();		
-			if (fileName.endsWith(CLASS_FILE_EXTENSION)) {
-				String className = fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length());
-
-				String encryptedReusableComponents = WhitelistingPath
-						.cleanStringForFilePath(packageName + "." + className);
-				Class<?> reusableComponents = Class.forName(encryptedReusableComponents);
-				Method executeComponent;
+	 * Function to create a driver session for the Test Iterations run in
+	 * parallel
+	 */
+	private CustomDriver createIterationDriver() {
+		WebDriver webDriver;
+		if (testParameters.getExecutionMode() == ExecutionMode.GRID) {
+			webDriver = webDriverPool.isPoolingEnabled(testParameters)
+					? webDriverPool.checkOut(testParameters, this::createRemoteGridDriver)
+					: createRemoteGridDriver();
+		} else {
+			webDriver = webDriverPool.isPoolingEnabled(testParameters)
+					? webDriverPool.checkOut(testParameters, () -> WebDriverFactory.getWebDriver(testParameters))
+					: WebDriverFactory.getWebDriver(testParameters);
+		}
+		CustomDriver iterationDriver = new CustomDriver(webDriver);
+		iterationDriver.setTestParameters(testParameters);
+		iterationDriver.manage().window().maximize();
+		return iterationDriver;
+	}
+	/**
+	 * Function to execute a Test Iteration run in parallel, with its own data
+	 * table row and test log
+	 * 
+	 * @return The {@link SeleniumReport} holding the test log of the iteration
+	 */
+	private SeleniumReport runIteration(DriverScript testCaseScript, int iteration) {
+		currentIteration = iteration;
+		report = testCaseScript.report.createIterationReport(driver, iteration);
+		dataTable = testCaseScript.dataTable.forIteration(iteration);
+		if (driver != null) {
+			driver.setReport(report);
+		}
+		apiDriver.setReport(report);
+		scriptHelper = new ScriptHelper(dataTable, report, driver, apiDriver);
+
+		if (testCase != null) {
+			testCase.initialize(scriptHelper);
+			if (!sharesTestCaseSession && !iterationTestCaseSetUp) {
+				iterationTestCaseSetUp = true;
 				try {
-					currentKeyword = currentKeyword.substring(0, 1).toLowerCase() + currentKeyword.substring(1);
-					executeComponent = reusableComponents.getMethod(currentKeyword, (Class<?>[]) null);
-				} catch (NoSuchMethodException ex) {
-					continue;
+					testCase.setUp();
+				} catch (Exception ex) {
+					exceptionHandler(ex, "Error");
 				}
-				isMethodFound = true;
-				Constructor<?> ctor = reusableComponents.getDeclaredConstructors()[0];
-				Object businessComponent = ctor.newInstance(scriptHelper);
-				rpt.createNode(currentKeyword);
-				executeComponent.invoke(businessComponent, (Object[]) null);
-				break;
 			}
 		}
-		if (!isMethodFound) {
-			throw new FrameworkException("Keyword " + currentKeyword + " not found within any class "
-					+ "inside the businesscomponents package");
+
+		executeIteration();
+		return report;
+	}
+	/**
+	 * Function to tear down the test case of the Test Iterations run in parallel
+	 */
+	private void tearDownIterations() {
+		if (iterationTestCaseSetUp) {
+			try {
+				testCase.tearDown(); // tearDown will ALWAYS be called
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	/**
+	 * Function to execute Test case with business flow
+	 */
+	private void executeTestcase(BusinessFlowPlan businessFlowPlan) throws InvocationTargetException {
+		for (BusinessFlowPlan.Step step : businessFlowPlan.getSteps()) {
+			currentSubIteration = step.getSubIteration();
+
+			dataTable.setCurrentRow(testParameters.getCurrentTestcase(), currentIteration, currentSubIteration);
+
+			if (currentSubIteration > 1) {
+				report.addTestLogSubSection(step.getKeywordName() + " (Sub-Iteration: " + currentSubIteration + ")");
+			} else {
+				report.addTestLogSubSection(step.getKeywordName());
+			}
+
+			rpt.createNode(step.getNodeName());
+			step.getKeyword().invoke(scriptHelper);
 		}
 	}
 	/**
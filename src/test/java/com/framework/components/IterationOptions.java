@@ -31,5 +31,10 @@ public enum IterationOptions {
 	/**
 	 * Run the range of iterations specified by StartIteration and EndIteration
 	 */
-	RUN_RANGE_OF_ITERATIONS;
+	RUN_RANGE_OF_ITERATIONS,
+	/**
+	 * Run all iterations specified in the test data sheet, several at a time on
+	 * separate driver sessions (the iterations must not depend on each other)
+	 */
+	RUN_ALL_ITERATIONS_IN_PARALLEL;
 }
\ No newline at end of file
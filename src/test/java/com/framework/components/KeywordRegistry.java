@@ -0,0 +1,235 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Singleton registry of the keywords of the business flows, built once per JVM
+ * by scanning the keyword package on the class path. A keyword is a public
+ * method without parameters of a keyword class, and is invoked through
+ * precomputed {@link MethodHandle}s of the method and of the
+ * {@link ScriptHelper} constructor of its class. The methods inherited from
+ * the framework classes are keywords as well, unless a keyword class declares
+ * a method of the same name
+ *
+ * @author Qualitest
+ */
+public class KeywordRegistry {
+	private static final String KEYWORD_PACKAGE = "com.keyword.steps";
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	private static volatile KeywordRegistry keywordRegistry;
+
+	private final Map<String, Keyword> keywords;
+
+	private KeywordRegistry(String packageName) {
+		Map<String, Keyword> declaredKeywords = new HashMap<String, Keyword>();
+		Map<String, Keyword> inheritedKeywords = new HashMap<String, Keyword>();
+		for (String className : findClassNames(packageName)) {
+			Class<?> keywordClass;
+			try {
+				keywordClass = Class.forName(packageName + "." + className);
+			} catch (ClassNotFoundException e) {
+				throw new FrameworkException("Error while loading the keyword class " + className);
+			}
+			if (keywordClass.isInterface() || Modifier.isAbstract(keywordClass.getModifiers())
+					|| !Modifier.isPublic(keywordClass.getModifiers())) {
+				continue;
+			}
+			registerKeywords(keywordClass, declaredKeywords, inheritedKeywords);
+		}
+
+		inheritedKeywords.keySet().removeAll(declaredKeywords.keySet());
+		declaredKeywords.putAll(inheritedKeywords);
+		this.keywords = Collections.unmodifiableMap(declaredKeywords);
+	}
+
+	/**
+	 * Function to return the singleton instance of the {@link KeywordRegistry}
+	 * object, scanning the keyword package on the first call
+	 * 
+	 * @return Instance of the {@link KeywordRegistry} object
+	 */
+	public static KeywordRegistry getInstance() {
+		if (keywordRegistry == null) {
+			synchronized (KeywordRegistry.class) {
+				if (keywordRegistry == null) {
+					keywordRegistry = new KeywordRegistry(KEYWORD_PACKAGE);
+				}
+			}
+		}
+		return keywordRegistry;
+	}
+
+	private static TreeSet<String> findClassNames(String packageName) {
+		// Sorted, so that an inherited keyword is always bound to the same class
+		TreeSet<String> classNames = new TreeSet<String>();
+		String packagePath = packageName.replace('.', '/');
+		try {
+			Enumeration<URL> packageUrls = Thread.currentThread().getContextClassLoader().getResources(packagePath);
+			while (packageUrls.hasMoreElements()) {
+				URL packageUrl = packageUrls.nextElement();
+				if ("jar".equals(packageUrl.getProtocol())) {
+					JarFile jarFile = ((JarURLConnection) packageUrl.openConnection()).getJarFile();
+					Enumeration<JarEntry> entries = jarFile.entries();
+					while (entries.hasMoreElements()) {
+						String entryName = entries.nextElement().getName();
+						if (entryName.startsWith(packagePath + "/")
+								&& entryName.indexOf('/', packagePath.length() + 1) == -1) {
+							addClassName(classNames, entryName.substring(packagePath.length() + 1));
+						}
+					}
+				} else {
+					File[] packageFiles = new File(packageUrl.toURI()).listFiles();
+					if (packageFiles != null) {
+						for (File packageFile : packageFiles) {
+							addClassName(classNames, packageFile.getName());
+						}
+					}
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new FrameworkException("Error while scanning the keyword package " + packageName + ": "
+					+ e.getMessage());
+		}
+		return classNames;
+	}
+
+	private static void addClassName(TreeSet<String> classNames, String fileName) {
+		// Nested classes are not keyword classes
+		if (fileName.endsWith(CLASS_FILE_EXTENSION) && fileName.indexOf('$') == -1) {
+			classNames.add(fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length()));
+		}
+	}
+
+	private static void registerKeywords(Class<?> keywordClass, Map<String, Keyword> declaredKeywords,
+			Map<String, Keyword> inheritedKeywords) {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		MethodHandle constructor;
+		try {
+			constructor = lookup.findConstructor(keywordClass, MethodType.methodType(void.class, ScriptHelper.class))
+					.asType(MethodType.methodType(Object.class, ScriptHelper.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			// Not a keyword class
+			return;
+		}
+
+		for (Method method : keywordClass.getMethods()) {
+			if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers()) || method.isSynthetic()
+					|| method.getDeclaringClass() == Object.class) {
+				continue;
+			}
+
+			boolean declared = method.getDeclaringClass() == keywordClass;
+			Map<String, Keyword> registeredKeywords = declared ? declaredKeywords : inheritedKeywords;
+			Keyword registeredKeyword = registeredKeywords.get(method.getName());
+			if (registeredKeyword != null) {
+				if (declared) {
+					throw new FrameworkException("Keyword " + method.getName() + " is declared in both "
+							+ registeredKeyword.getKeywordClass().getName() + " and " + keywordClass.getName());
+				}
+				continue;
+			}
+
+			try {
+				MethodHandle handle = lookup.unreflect(method).asType(MethodType.methodType(void.class, Object.class));
+				registeredKeywords.put(method.getName(), new Keyword(keywordClass, constructor, handle));
+			} catch (IllegalAccessException e) {
+				// Public methods of non-public framework classes are not keywords
+			}
+		}
+	}
+
+	/**
+	 * Function to get a keyword
+	 * 
+	 * @param keywordName
+	 *            The keyword, as named in the business flow
+	 * @return The {@link Keyword}, or null if no keyword class has such a method
+	 */
+	public Keyword getKeyword(String keywordName) {
+		return keywords.get(toMethodName(keywordName));
+	}
+
+	/**
+	 * Function to get the method name of a keyword, in lower camel case
+	 * 
+	 * @param keywordName
+	 *            The keyword, as named in the business flow
+	 * @return The method name
+	 */
+	public static String toMethodName(String keywordName) {
+		return keywordName.substring(0, 1).toLowerCase() + keywordName.substring(1);
+	}
+
+	/**
+	 * A keyword method along with the constructor of its class
+	 */
+	public static final class Keyword {
+		private final Class<?> keywordClass;
+		private final MethodHandle constructor;
+		private final MethodHandle method;
+
+		private Keyword(Class<?> keywordClass, MethodHandle constructor, MethodHandle method) {
+			this.keywordClass = keywordClass;
+			this.constructor = constructor;
+			this.method = method;
+		}
+
+		/**
+		 * Function to get the class of the keyword
+		 * 
+		 * @return The keyword class
+		 */
+		public Class<?> getKeywordClass() {
+			return keywordClass;
+		}
+
+		/**
+		 * Function to invoke the keyword on a new instance of its class
+		 * 
+		 * @param scriptHelper
+		 *            The {@link ScriptHelper} of the test case
+		 * @throws InvocationTargetException
+		 *             If the keyword or the constructor of its class fails
+		 */
+		public void invoke(ScriptHelper scriptHelper) throws InvocationTargetException {
+			try {
+				Object businessComponent = (Object) constructor.invokeExact(scriptHelper);
+				method.invokeExact(businessComponent);
+			} catch (Throwable e) {
+				throw new InvocationTargetException(e);
+			}
+		}
+	}
+}
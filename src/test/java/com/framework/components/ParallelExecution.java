@@ -62,8 +62,10 @@ public class ParallelExecution implements Runnable {
 			testStatus = "Aborted";
 			testBatchStatus = 1; // Non-zero outcome indicates failure
 		} else {
+			long startTime = System.currentTimeMillis();
 			DriverScript driverScript = new DriverScript(this.testParameters);
 			driverScript.driveTestExecution();
+			TestDurationHistory.getInstance().recordDuration(testParameters, System.currentTimeMillis() - startTime);
 
 			testReportName = driverScript.getReportName();
 			executionTime = driverScript.getExecutionTime();
@@ -0,0 +1,154 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.components;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.framework.report.Util;
+
+/**
+ * Singleton class that keeps the historical execution time of each test
+ * instance across batch executions, so that the {@link ParallelExecution}
+ * tasks of a batch can be scheduled longest first
+ *
+ * @author Qualitest
+ */
+public class TestDurationHistory {
+	private static final String DURATIONS_FILE_NAME = "Test Durations.properties";
+	// Weight of the latest run in the running average of a test's duration
+	private static final double LATEST_RUN_WEIGHT = 0.5;
+
+	private static final TestDurationHistory TEST_DURATION_HISTORY = new TestDurationHistory();
+
+	private final Map<String, Long> durations = new ConcurrentHashMap<String, Long>();
+	private boolean loaded;
+
+	private TestDurationHistory() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to return the singleton instance of the
+	 * {@link TestDurationHistory} object
+	 *
+	 * @return Instance of the {@link TestDurationHistory} object
+	 */
+	public static TestDurationHistory getInstance() {
+		TEST_DURATION_HISTORY.load();
+		return TEST_DURATION_HISTORY;
+	}
+
+	private String getDurationsFilePath() {
+		// Kept beside the result folders of the runs, so that it outlives each of
+		// them without changing the source tree
+		return WhitelistingPath.cleanStringForFilePath(FrameworkParameters.getInstance().getRelativePath()
+				+ Util.getFileSeparator() + "testresult" + Util.getFileSeparator() + DURATIONS_FILE_NAME);
+	}
+
+	private synchronized void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+
+		File durationsFile = new File(getDurationsFilePath());
+		if (!durationsFile.exists()) {
+			return;
+		}
+
+		Properties storedDurations = new Properties();
+		try (FileInputStream inputStream = new FileInputStream(durationsFile)) {
+			storedDurations.load(inputStream);
+		} catch (IOException e) {
+			// Without history, the batch simply runs in Run Manager order
+			e.printStackTrace();
+			return;
+		}
+
+		for (String testKey : storedDurations.stringPropertyNames()) {
+			try {
+				durations.put(testKey, Long.parseLong(storedDurations.getProperty(testKey)));
+			} catch (NumberFormatException e) {
+				// Ignore the corrupt entry; it is rewritten after the next run
+			}
+		}
+	}
+
+	/**
+	 * Function to get the key identifying a test instance across batch
+	 * executions
+	 *
+	 * @param testParameters
+	 *            The {@link TestParameters} of the test instance
+	 * @return The test key
+	 */
+	private static String getTestKey(TestParameters testParameters) {
+		return testParameters.getCurrentScenario() + "." + testParameters.getCurrentTestcase() + "."
+				+ testParameters.getCurrentTestInstance();
+	}
+
+	/**
+	 * Function to get the historical execution time of a test instance
+	 *
+	 * @param testParameters
+	 *            The {@link TestParameters} of the test instance
+	 * @return The execution time in milliseconds (-1 if the test instance was
+	 *         never executed before)
+	 */
+	public long getDuration(TestParameters testParameters) {
+		Long duration = durations.get(getTestKey(testParameters));
+		return duration == null ? -1 : duration;
+	}
+
+	/**
+	 * Function to record the execution time of a test instance
+	 *
+	 * @param testParameters
+	 *            The {@link TestParameters} of the test instance
+	 * @param durationMillis
+	 *            The execution time in milliseconds
+	 */
+	public void recordDuration(TestParameters testParameters, long durationMillis) {
+		durations.merge(getTestKey(testParameters), durationMillis, (previousDuration,
+				latestDuration) -> Math.round(LATEST_RUN_WEIGHT * latestDuration
+						+ (1 - LATEST_RUN_WEIGHT) * previousDuration));
+	}
+
+	/**
+	 * Function to save the execution times into the durations file, for use by
+	 * the next batch execution
+	 */
+	public synchronized void save() {
+		Properties storedDurations = new Properties();
+		for (Map.Entry<String, Long> duration : durations.entrySet()) {
+			storedDurations.setProperty(duration.getKey(), Long.toString(duration.getValue()));
+		}
+
+		File durationsFile = new File(getDurationsFilePath());
+		durationsFile.getParentFile().mkdirs();
+		try (FileOutputStream outputStream = new FileOutputStream(durationsFile)) {
+			storedDurations.store(outputStream, "Execution time of each test instance in milliseconds");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
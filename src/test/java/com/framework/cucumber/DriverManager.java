@@ -15,16 +15,22 @@
  */
 package com.framework.cucumber;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import com.microsoft.playwright.Browser;
 import com.framework.selenium.*;
 import io.appium.java_client.windows.WindowsDriver;
 import org.openqa.selenium.WebDriver;
 
+import com.framework.components.FrameworkException;
 import com.framework.components.Settings;
 import com.framework.components.ToolName;
+import com.framework.data.TestDataSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import io.appium.java_client.AppiumDriver;
@@ -53,6 +59,12 @@ public class DriverManager {
 	private static ThreadLocal<com.microsoft.playwright.Browser> browser = new ThreadLocal<com.microsoft.playwright.Browser>();
 	private static ThreadLocal<BrowserContext> context = new ThreadLocal<BrowserContext>();
 	private static ThreadLocal<Page> page = new ThreadLocal<Page>();
+	private static ThreadLocal<String> browserType = new ThreadLocal<String>();
+	// Playwright instances kept open across scenarios by PlaywrightBrowserReuse
+	private static Set<Playwright> launchedPlaywrights = ConcurrentHashMap.newKeySet();
+
+	// Test data of the scenario running on the thread
+	private static ThreadLocal<TestDataSet> testData = new ThreadLocal<TestDataSet>();
 	
 	private static Properties properties = Settings.getInstance();
 	private static Properties mobileProperties = Settings.getMobilePropertiesInstance();
@@ -60,6 +72,7 @@ public class DriverManager {
 
 	static {
 		log = LogManager.getLogger(DriverManager.class);
+		Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::closeReusedPlaywrights));
 	}
 
 	/**
@@ -193,23 +206,83 @@ public class DriverManager {
 	 * @param testParameters
 	 */
 	public static void initializePlaywright(SeleniumTestParameters testParameters) {
-		if (playwright.get() == null) {
-			Playwright playwrightInstance = Playwright.create();
-			setPlaywright(playwrightInstance);
-			
-			Browser browserInstance = PlaywrightDriverFactory.createBrowserInstance(testParameters);
-			setBrowser(browserInstance);
-			
-			BrowserContext contextInstance = PlaywrightDriverFactory.createBrowserContext(browserInstance);
-			setBrowserContext(contextInstance);
-			
-			Page pageInstance = PlaywrightDriverFactory.createPage(contextInstance);
-			setPage(pageInstance);
+		String storageState = properties.getProperty("PlaywrightStorageState", "");
+		initializePlaywright(testParameters, storageState.isEmpty() ? null : Paths.get(storageState));
+	}
+
+	/**
+	 * Function to initialize Playwright driver, with the browser context seeded
+	 * from the specified storage state. When PlaywrightBrowserReuse is enabled,
+	 * the Playwright and Browser of the thread are kept across scenarios and
+	 * each scenario only gets a fresh {@link BrowserContext}
+	 * 
+	 * @param testParameters
+	 * @param storageState The storage state file (null for an empty context)
+	 */
+	public static void initializePlaywright(SeleniumTestParameters testParameters, Path storageState) {
+		if (isPlaywrightBrowserReused()) {
+			String browserKey = String.valueOf(testParameters.getBrowser());
+			if (browser.get() == null || !browser.get().isConnected() || !browserKey.equals(browserType.get())) {
+				closePlaywrightBrowser();
+				launchPlaywrightBrowser(testParameters);
+				browserType.set(browserKey);
+			}
+		} else if (playwright.get() == null) {
+			launchPlaywrightBrowser(testParameters);
+		} else {
+			return;
 		}
+
+		BrowserContext contextInstance = PlaywrightDriverFactory.createBrowserContext(browser.get(), storageState);
+		setBrowserContext(contextInstance);
+
+		Page pageInstance = PlaywrightDriverFactory.createPage(contextInstance);
+		setPage(pageInstance);
 	}
-	
+
+	private static void launchPlaywrightBrowser(SeleniumTestParameters testParameters) {
+		Playwright playwrightInstance = Playwright.create();
+		setPlaywright(playwrightInstance);
+		if (isPlaywrightBrowserReused()) {
+			launchedPlaywrights.add(playwrightInstance);
+		}
+
+		Browser browserInstance = PlaywrightDriverFactory.createBrowserInstance(playwrightInstance, testParameters);
+		setBrowser(browserInstance);
+	}
+
+	private static boolean isPlaywrightBrowserReused() {
+		return Boolean.parseBoolean(properties.getProperty("PlaywrightBrowserReuse", "False"));
+	}
+
 	/**
-	 * Function to close Playwright resources
+	 * Function to replace the browser context of the current scenario with a
+	 * fresh one on the same browser, seeded from the specified storage state.
+	 * Page objects bound to the previous page must be re-created
+	 * 
+	 * @param storageState The storage state file (null for an empty context)
+	 */
+	public static void renewPlaywrightContext(Path storageState) {
+		if (browser.get() == null) {
+			throw new FrameworkException("Playwright is not initialized for the current thread");
+		}
+		try {
+			if (context.get() != null) {
+				context.get().close();
+			}
+		} catch (Exception e) {
+			log.error("Error closing Playwright context: " + e.getMessage());
+		}
+
+		BrowserContext contextInstance = PlaywrightDriverFactory.createBrowserContext(browser.get(), storageState);
+		setBrowserContext(contextInstance);
+		setPage(PlaywrightDriverFactory.createPage(contextInstance));
+	}
+
+	/**
+	 * Function to close Playwright resources. When PlaywrightBrowserReuse is
+	 * enabled, only the page and context of the scenario are closed, and the
+	 * browser is kept for the next scenario on the thread
 	 */
 	public static void closePlaywrightResources() {
 		try {
@@ -219,22 +292,81 @@ public class DriverManager {
 			if (context.get() != null) {
 				context.get().close();
 			}
+			
+			// Clear ThreadLocal variables
+			page.remove();
+			context.remove();
+		} catch (Exception e) {
+			log.error("Error closing Playwright resources: " + e.getMessage());
+		}
+
+		if (!isPlaywrightBrowserReused()) {
+			closePlaywrightBrowser();
+		}
+	}
+
+	/**
+	 * Function to close the Playwright Browser of the current thread
+	 */
+	public static void closePlaywrightBrowser() {
+		try {
 			if (browser.get() != null) {
 				browser.get().close();
 			}
 			if (playwright.get() != null) {
+				launchedPlaywrights.remove(playwright.get());
 				playwright.get().close();
 			}
-			
-			// Clear ThreadLocal variables
-			page.remove();
-			context.remove();
+		} catch (Exception e) {
+			log.error("Error closing Playwright browser: " + e.getMessage());
+		} finally {
 			browser.remove();
+			browserType.remove();
 			playwright.remove();
-		} catch (Exception e) {
-			log.error("Error closing Playwright resources: " + e.getMessage());
 		}
 	}
+
+	/**
+	 * Function to close the browsers kept open for reuse when the JVM exits
+	 */
+	private static void closeReusedPlaywrights() {
+		for (Playwright playwrightInstance : launchedPlaywrights) {
+			try {
+				playwrightInstance.close();
+			} catch (Exception e) {
+				// The browser process is already gone
+			}
+		}
+	}
+
+	/**
+	 * Function to set the test data of the current scenario
+	 * {@link TestDataSet} object
+	 * 
+	 * @param testDataInstance
+	 */
+	public static void setTestData(TestDataSet testDataInstance) {
+		testData.set(testDataInstance);
+	}
+
+	/**
+	 * Function to return the test data of the current scenario
+	 * {@link TestDataSet} object
+	 * 
+	 * @return Instance of the {@link TestDataSet} object (null if the test data
+	 *         is not yet initialized)
+	 */
+	public static TestDataSet getTestData() {
+		return testData.get();
+	}
+
+	/**
+	 * Function to release the test data of the current scenario
+	 */
+	public static void clearTestData() {
+		testData.remove();
+	}
+
 	/**
 	 * Function to set the SeleniumTestParameters
 	 * Object{@link SeleniumTestParameters} object
@@ -336,6 +468,32 @@ public class DriverManager {
 		return driver;
 	}
 
+	/**
+	 * Function to return a WebDriver for the scenario, checked out of the
+	 * {@link WebDriverPool} when pooling is enabled for the test parameters
+	 * 
+	 * @param testParameters
+	 * 
+	 * @return Instance of the {@link WebDriver} object
+	 */
+	public static WebDriver acquireWebDriver(SeleniumTestParameters testParameters, String scenarioName) {
+		WebDriverPool webDriverPool = WebDriverPool.getInstance();
+		if (!webDriverPool.isPoolingEnabled(testParameters)) {
+			return createWebDriverInstance(testParameters, scenarioName);
+		}
+		return webDriverPool.checkOut(testParameters, () -> createWebDriverInstance(testParameters, scenarioName));
+	}
+
+	/**
+	 * Function to release the WebDriver of the scenario, either back into the
+	 * {@link WebDriverPool} or by quitting it
+	 */
+	public static void releaseWebDriver() {
+		WebDriver driver = webDriver.get();
+		webDriver.remove();
+		WebDriverPool.getInstance().checkIn(driver);
+	}
+
 	/**
 	 * Function to return the object for AppiumDriver {@link AppiumDriver} object
 	 * 
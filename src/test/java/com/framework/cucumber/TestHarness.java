@@ -20,6 +20,7 @@ import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,8 @@ import com.framework.data.FrameworkDataTable;
 import io.cucumber.datatable.DataTable;
 import com.framework.data.ExcelDataAccess;
 import com.framework.data.JsonData;
+import com.framework.data.TestDataRow;
+import com.framework.data.TestDataSet;
 import com.framework.report.Util;
 import com.framework.reusable.GenericResuableComponents;
 import com.framework.selenium.CloudPlatformWebDriverFactory;
@@ -57,11 +60,7 @@ public class TestHarness {
     public Properties properties;
     @SuppressWarnings("unused")
     private Properties mobileproperties;
-    public static HashMap<String, HashMap<String, String>> data = new HashMap<String, HashMap<String, String>>();
-    public static HashMap<String, HashMap<String, HashMap<String, String>>> datas = new HashMap<String, HashMap<String, HashMap<String, String>>>();
-    public static HashMap<String, String> csvdata = new HashMap<String, String>();
     public String currentTestcase;
-    public static HashMap<String, String> threadCurrentTests = new HashMap<String, String>();
     public GenericResuableComponents reusableComponents;
 
     /**
@@ -117,7 +116,7 @@ public class TestHarness {
                     appiumDriver = DriverManager.createAppiumInstance(currentTestParameters);
                     DriverManager.setAppiumDriver(appiumDriver);
                 } else {
-                    driver = DriverManager.createWebDriverInstance(currentTestParameters, scenario.getName());
+                    driver = DriverManager.acquireWebDriver(currentTestParameters, scenario.getName());
                     DriverManager.setWebDriver(driver);
                 }
                 break;
@@ -154,7 +153,7 @@ public class TestHarness {
             case MOBILE:
                // if (testParameters.getMobileToolName().equals(ToolName.REMOTE_WEBDRIVER)){
                  if (DriverManager.getWebDriver() !=null){
-                    DriverManager.getWebDriver().quit();
+                    DriverManager.releaseWebDriver();
                 } else if(DriverManager.getAppiumDriver() != null){
                     DriverManager.getAppiumDriver().quit();
                 }
@@ -243,16 +242,17 @@ public class TestHarness {
         String datatablePath = System.getProperty("user.dir") + Util.getFileSeparator() + "src"
                 + Util.getFileSeparator() + "test" + Util.getFileSeparator() + "resources" + Util.getFileSeparator()
                 + "datatables";
-        threadCurrentTests.put(String.valueOf(Thread.currentThread().getId()), currentTestID);
         currentTestcase = currentTestID;
         String dataTable = getDataTable();
+        TestDataSet testData;
 
         switch (properties.getProperty("TestData").toString()) {
 
             case "JSON":
 
                 JsonData jsdata = new JsonData();
-                data = jsdata.readJson(datatablePath, dataTable.toString(), currentTestID);
+                testData = TestDataSet.fromValues(currentTestID,
+                        jsdata.readJson(datatablePath, dataTable.toString(), currentTestID));
 
                 break;
 
@@ -277,26 +277,27 @@ public class TestHarness {
                 ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath,
                         dataTable.toString());
                 //properties.getProperty("DataTable").toString());
-                datas = testDataAccess.readExcelValues(currentTestID, 1);
+                testData = TestDataSet.fromRows(currentTestID, testDataAccess.readTestcaseRows(currentTestID));
 
                 break;
 
             case "CSV":
 
                 CsvReader csvData = new CsvReader();
-                csvdata = csvData.readCSVasHashMap(datatablePath, dataTable.toString(),
-                        currentTestID);
+                testData = TestDataSet.fromValues(currentTestID, Collections.singletonMap(dataTable,
+                        csvData.readCSVasHashMap(datatablePath, dataTable.toString(), currentTestID)));
 
                 break;
 
             case "ACCESSDB":
 
                 AccessDatabase accdb = new AccessDatabase();
+                testData = null;
 
                 try {
 
-                    data = accdb.executeAccessData(datatablePath, dataTable.toString(),
-                            currentTestID);
+                    testData = TestDataSet.fromValues(currentTestID,
+                            accdb.executeAccessData(datatablePath, dataTable.toString(), currentTestID));
 
                 } catch (ClassNotFoundException | InterruptedException | SQLException e) {
 
@@ -312,6 +313,9 @@ public class TestHarness {
                         + "Please provide the valid name");
 
         }
+
+        // Each scenario thread reads its own immutable copy of the test data
+        DriverManager.setTestData(testData);
     }
 
     public String getDataTable() {
@@ -336,14 +340,7 @@ public class TestHarness {
 //	}
     public String getData(String Sheetname, String Key) {
 
-        String currentTests = threadCurrentTests.get(String.valueOf(Thread.currentThread().getId()));
-        if (!datas.containsKey(Sheetname)
-                || !datas.get(Sheetname).containsKey(currentTests + "_1")
-                || !datas.get(Sheetname).get(currentTests + "_1").containsKey(Key)) {
-            throw new FrameworkException("Unable to read the data from Excel. Please check the data in excel sheet - "
-                    + Sheetname + " Test case ID - " + currentTests + " Key - " + Key);
-        }
-        return datas.get(Sheetname).get(currentTests + "_1").get(Key);
+        return getData(Sheetname, "1", Key);
 
     }
     /**
@@ -354,14 +351,14 @@ public class TestHarness {
      */
     public String getData(String Sheetname, String subIteration, String Key) {
 
-        String currentTests = threadCurrentTests.get(String.valueOf(Thread.currentThread().getId()));
-        if (!datas.containsKey(Sheetname)
-                || !datas.get(Sheetname).containsKey(currentTests + "_" + subIteration)
-                || !datas.get(Sheetname).get(currentTests + "_" + subIteration).containsKey(Key)) {
+        TestDataSet testData = DriverManager.getTestData();
+        String value = testData == null ? null : testData.getData(Sheetname, subIteration, Key);
+        if (value == null) {
+            String currentTests = testData == null ? currentTestcase : testData.getTestcase();
             throw new FrameworkException("Unable to read the data from Excel. Please check the data in excel sheet - "
                     + Sheetname + " Test case ID - " + currentTests + " Key - " + Key);
         }
-        return datas.get(Sheetname).get(currentTests + "_" + subIteration).get(Key);
+        return value;
 
     }
 
@@ -373,7 +370,23 @@ public class TestHarness {
      */
     public String getData(String Key) {
 
-        return csvdata.get(Key);
+        TestDataSet testData = DriverManager.getTestData();
+        return testData == null ? null : testData.getData(getDataTable(), Key);
+
+    }
+
+    /**
+     * Function to get all the values of the first sub-iteration within a sheet
+     *
+     * @param Sheetname
+     * @return The values keyed by column name, or null if the sheet has no data
+     */
+    public HashMap<String, String> getSheetData(String Sheetname) {
+
+        TestDataSet testData = DriverManager.getTestData();
+        TestDataSet.Sheet sheet = testData == null ? null : testData.getSheet(Sheetname);
+        TestDataRow row = sheet == null ? null : sheet.getRow("1");
+        return row == null ? null : new HashMap<String, String>(row.toMap());
 
     }
 
@@ -391,7 +404,8 @@ public class TestHarness {
 
         FrameworkDataTable datatable = new FrameworkDataTable(datatablePath, properties.getProperty("DataTable").toString());
 
-        datatable.setCurrentRow(currentTestcase, 1);
+        TestDataSet testData = DriverManager.getTestData();
+        datatable.setCurrentRow(testData == null ? currentTestcase : testData.getTestcase(), 1);
 
         datatable.putData(column, value);
 
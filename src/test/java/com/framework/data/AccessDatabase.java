@@ -11,7 +11,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.hsqldb.types.Types;
 import com.framework.report.Util;
 import com.healthmarketscience.jackcess.ColumnBuilder;
@@ -219,6 +222,132 @@ public class AccessDatabase {
 		
 	}
 	
+	/**
+	 * Method to insert a batch of records into the access database in the
+	 * result folder over a single connection
+	 * 
+	 * @param reportPath
+	 * 				The result path
+	 * @param outputData
+	 * 				The values to insert, keyed by test case name and column name
+	 * 
+	 * @throws IOException
+	 * @throws SQLException
+	 */
+	public void createAccessDB(String reportPath, Map<String, Map<String, String>> outputData) throws IOException, SQLException {
+
+		if (outputData.isEmpty()) {
+			return;
+		}
+
+		String databaseName = reportPath + Util.getFileSeparator() + "Output.accdb";
+
+		if (!new File(databaseName).exists()) {
+
+			String firstColumn = outputData.values().iterator().next().keySet().iterator().next();
+			startDatabaseProcess(databaseName, firstColumn);
+
+		}
+
+		try (Connection connect = accessConnect(databaseName)) {
+
+			Set<String> checkedColumns = new HashSet<String>();
+			for (Map<String, String> testcaseData : outputData.values()) {
+				for (String columnName : testcaseData.keySet()) {
+					if (checkedColumns.add(columnName)) {
+						checkColumnPresent(connect, columnName);
+					}
+				}
+			}
+
+			for (Map.Entry<String, Map<String, String>> testcaseData : outputData.entrySet()) {
+				insertRecord(connect, testcaseData.getKey(), testcaseData.getValue());
+			}
+
+		}
+
+	}
+
+	/**
+	 * Method to insert or update all the column values of a test case in a
+	 * single statement
+	 * 
+	 * @param connect
+	 * 				The database connection
+	 * @param currentTest
+	 * 				The current test case name
+	 * @param values
+	 * 				The values to insert, keyed by column name
+	 * 
+	 * @throws SQLException
+	 */
+	private void insertRecord(Connection connect, String currentTest, Map<String, String> values) throws SQLException {
+
+		boolean recordExists;
+		try (PreparedStatement pst = connect.prepareStatement("SELECT TC_ID FROM ResultData WHERE TC_ID = ?")) {
+			pst.setString(1, currentTest);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				recordExists = resultSet.next();
+			}
+		}
+
+		List<String> columns = new ArrayList<String>(values.keySet());
+		StringBuilder query = new StringBuilder();
+		if (recordExists) {
+			query.append("UPDATE ResultData SET ");
+			for (int i = 0; i < columns.size(); i++) {
+				query.append(i > 0 ? ", " : "").append(columns.get(i)).append(" = ?");
+			}
+			query.append(" WHERE TC_ID = ?");
+		} else {
+			query.append("INSERT INTO ResultData (TC_ID");
+			for (String column : columns) {
+				query.append(", ").append(column);
+			}
+			query.append(") VALUES (?");
+			for (int i = 0; i < columns.size(); i++) {
+				query.append(", ?");
+			}
+			query.append(")");
+		}
+
+		try (PreparedStatement statement = connect.prepareStatement(query.toString())) {
+			int parameterIndex = 1;
+			if (!recordExists) {
+				statement.setString(parameterIndex++, currentTest);
+			}
+			for (String column : columns) {
+				statement.setString(parameterIndex++, values.get(column));
+			}
+			if (recordExists) {
+				statement.setString(parameterIndex, currentTest);
+			}
+			statement.execute();
+		}
+
+	}
+
+	/**
+	 * Method to create the column in the result table if it is not present
+	 * 
+	 * @param connect
+	 * 				The database connection
+	 * @param columnName
+	 * 				Column name to create
+	 * @throws SQLException
+	 */
+	private void checkColumnPresent(Connection connect, String columnName) throws SQLException {
+
+		try (Statement statement = connect.createStatement()) {
+			try {
+				statement.execute("Select "+columnName+" from ResultData where 1 = 0");
+			} catch (SQLException e) {
+				statement.execute("ALTER TABLE ResultData ADD COLUMN "+columnName+" TEXT(255)");
+			}
+		}
+
+	}
+
 	/**
 	 * Method to Insert the record
 	 * 
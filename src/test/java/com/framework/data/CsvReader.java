@@ -7,8 +7,10 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.framework.components.FrameworkException;
 import com.framework.report.Util;
@@ -160,6 +162,80 @@ public class CsvReader {
 		}
 
 	}
+	/**
+	 * Function to put a batch of data in a CSV file with a single read and
+	 * write of the output file
+	 * 
+	 * @param filepath
+	 * 				The path of the CSV file
+	 * @param outputData
+	 * 				The values to update, keyed by test case name and column header
+	 */
+	public void csvPutdata(String filepath, Map<String, Map<String, String>> outputData) {
+
+		if (outputData.isEmpty()) {
+			return;
+		}
+
+		String file = filepath + Util.getFileSeparator() + "Output.csv";
+
+		List<String> existingvalues = new File(file).exists() ? readCSV(file) : new ArrayList<String>();
+
+		List<String> headers = new ArrayList<String>();
+		if (existingvalues.isEmpty()) {
+			headers.add("TC_ID");
+		} else {
+			headers.addAll(Arrays.asList(existingvalues.get(0).split(",", -1)));
+		}
+
+		List<List<String>> rows = new ArrayList<List<String>>();
+		Map<String, List<String>> rowsByTestcase = new HashMap<String, List<String>>();
+		for (int i = 1; i < existingvalues.size(); i++) {
+			List<String> row = new ArrayList<String>(Arrays.asList(existingvalues.get(i).split(",", -1)));
+			rows.add(row);
+			rowsByTestcase.putIfAbsent(row.get(0), row);
+		}
+
+		for (Map.Entry<String, Map<String, String>> testcaseData : outputData.entrySet()) {
+			List<String> row = rowsByTestcase.get(testcaseData.getKey());
+			if (row == null) {
+				row = new ArrayList<String>();
+				row.add(testcaseData.getKey());
+				rows.add(row);
+				rowsByTestcase.put(testcaseData.getKey(), row);
+			}
+
+			for (Map.Entry<String, String> columnData : testcaseData.getValue().entrySet()) {
+				int columnNumber = headers.indexOf(columnData.getKey());
+				if (columnNumber == -1) {
+					headers.add(columnData.getKey());
+					columnNumber = headers.size() - 1;
+				}
+				while (row.size() <= columnNumber) {
+					row.add("");
+				}
+				row.set(columnNumber, columnData.getValue());
+			}
+		}
+
+		try (BufferedWriter output = new BufferedWriter(new FileWriter(file))) {
+
+			output.append(String.join(",", headers) + "\n");
+			for (List<String> row : rows) {
+				while (row.size() < headers.size()) {
+					row.add("");
+				}
+				output.append(String.join(",", row) + "\n");
+			}
+
+		} catch (IOException e) {
+
+			throw new FrameworkException("Unable to write in CSV file " + e.getMessage());
+			
+		}
+
+	}
+
 	/**
 	 * Function to get the comma separator
 	 *
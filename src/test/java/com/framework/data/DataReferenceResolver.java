@@ -0,0 +1,161 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.framework.components.FrameworkException;
+import com.framework.components.WhitelistingPath;
+import com.framework.data.ExcelWorkbookCache.CachedSheet;
+import com.framework.data.ExcelWorkbookCache.CachedWorkbook;
+import com.framework.report.Util;
+
+/**
+ * Resolver of the data references (values starting with the data reference
+ * identifier, such as #Admin) to the rows of the Common_Testdata sheet. The
+ * resolved values are kept in a memo table shared by all the threads of the
+ * run, tied to the {@link CachedWorkbook} they were read from, so that the memo
+ * is dropped when the {@link ExcelWorkbookCache} reloads a modified workbook. A
+ * reference may point to a value which is itself a reference, and circular
+ * references are reported instead of being followed forever
+ *
+ * @author Qualitest
+ */
+public class DataReferenceResolver {
+	private static final String COMMON_DATATABLE_NAME = "Common Testdata";
+	private static final String COMMON_DATASHEET_NAME = "Common_Testdata";
+
+	private static final Map<String, DataReferenceResolver> resolvers = new ConcurrentHashMap<String, DataReferenceResolver>();
+
+	private final String datatablePath, dataReferenceIdentifier;
+	private volatile ResolvedReferences resolvedReferences;
+
+	/**
+	 * Function to get the resolver of the data references of the specified
+	 * datatable folder
+	 *
+	 * @param datatablePath
+	 *            The folder in which the Common Testdata workbook is stored
+	 * @param dataReferenceIdentifier
+	 *            The data reference identifier character
+	 * @return The {@link DataReferenceResolver}
+	 */
+	public static DataReferenceResolver getInstance(String datatablePath, String dataReferenceIdentifier) {
+		return resolvers.computeIfAbsent(dataReferenceIdentifier + Util.getFileSeparator() + datatablePath,
+				key -> new DataReferenceResolver(datatablePath, dataReferenceIdentifier));
+	}
+
+	private DataReferenceResolver(String datatablePath, String dataReferenceIdentifier) {
+		this.datatablePath = datatablePath;
+		this.dataReferenceIdentifier = dataReferenceIdentifier;
+	}
+
+	/**
+	 * Function to check whether a value is a data reference
+	 *
+	 * @param dataValue
+	 *            The value read from the datatable
+	 * @return true if the value is to be resolved from the common test data
+	 */
+	public boolean isReference(String dataValue) {
+		return dataValue != null && dataValue.length() > dataReferenceIdentifier.length()
+				&& dataValue.startsWith(dataReferenceIdentifier);
+	}
+
+	/**
+	 * Function to resolve a value read from the datatable. Values which are
+	 * not data references are returned as is
+	 *
+	 * @param fieldName
+	 *            The name of the field whose value is resolved
+	 * @param dataValue
+	 *            The value read from the datatable
+	 * @return The resolved value
+	 */
+	public String resolve(String fieldName, String dataValue) {
+		if (!isReference(dataValue)) {
+			return dataValue;
+		}
+		return resolve(getResolvedReferences(), fieldName, getReferenceId(dataValue), new LinkedHashSet<String>());
+	}
+
+	private String resolve(ResolvedReferences references, String fieldName, String referenceId,
+			Set<String> referenceChain) {
+		String memoKey = referenceId + '\u0000' + fieldName;
+		String resolvedValue = references.values.get(memoKey);
+		if (resolvedValue != null) {
+			return resolvedValue;
+		}
+
+		if (!referenceChain.add(referenceId)) {
+			throw new FrameworkException("The common test data reference \"" + referenceId + "\" of the field \""
+					+ fieldName + "\" is circular: " + String.join(" -> ", referenceChain) + " -> " + referenceId);
+		}
+
+		CachedSheet datasheet = references.datasheet;
+		int rowNum = datasheet.getRowNum(referenceId, 0, 1); // Start at row 1, skipping the header row
+		if (rowNum == -1) {
+			throw new FrameworkException("The common test data row identified by \"" + referenceId + "\""
+					+ "is not found in the common test data sheet!");
+		}
+		int columnNum = datasheet.getColumnNum(fieldName);
+		if (columnNum == -1) {
+			throw new FrameworkException("The specified column header \"" + fieldName + "\""
+					+ "is not found in the sheet \"" + COMMON_DATASHEET_NAME + "\"!");
+		}
+
+		String value = datasheet.getValue(rowNum, columnNum);
+		if (isReference(value)) {
+			value = resolve(references, fieldName, getReferenceId(value), referenceChain);
+		}
+
+		references.values.putIfAbsent(memoKey, value);
+		return value;
+	}
+
+	private String getReferenceId(String dataValue) {
+		return dataValue.substring(dataReferenceIdentifier.length());
+	}
+
+	private ResolvedReferences getResolvedReferences() {
+		CachedWorkbook workbook = ExcelWorkbookCache.getWorkbook(WhitelistingPath
+				.cleanStringForFilePath(datatablePath + Util.getFileSeparator() + COMMON_DATATABLE_NAME + ".xls"));
+		ResolvedReferences references = resolvedReferences;
+		if (references == null || references.workbook != workbook) {
+			references = new ResolvedReferences(workbook);
+			resolvedReferences = references;
+		}
+		return references;
+	}
+
+	/**
+	 * The memo table of the references resolved from a parsed copy of the
+	 * common test data
+	 */
+	private static final class ResolvedReferences {
+		private final CachedWorkbook workbook;
+		private final CachedSheet datasheet;
+		private final Map<String, String> values = new ConcurrentHashMap<String, String>();
+
+		private ResolvedReferences(CachedWorkbook workbook) {
+			this.workbook = workbook;
+			this.datasheet = workbook.getExistingSheet(COMMON_DATASHEET_NAME);
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.framework.components.FrameworkException;
+import com.framework.components.WhitelistingPath;
+import com.framework.report.Util;
+
+/**
+ * Copy-on-write overlay of the datatables included in the test report. The
+ * datatables are read from their shared source folder, which is never
+ * modified, while the values written through
+ * {@link FrameworkDataTable#putData(String, String, String)} are kept in an
+ * in-memory delta store. The report-side copies of the datatables are created
+ * once per run and receive the pending values with a single write per
+ * workbook, when the overlay is materialised at the end of the test
+ *
+ * @author Qualitest
+ */
+public class DatatableOverlay {
+	private static final Map<String, DatatableOverlay> overlays = new ConcurrentHashMap<String, DatatableOverlay>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(DatatableOverlay::materialiseAll));
+	}
+
+	private final String sourcePath, runTimePath;
+	private final Set<String> includedDatatables = ConcurrentHashMap.newKeySet();
+	private final Set<String> copiedDatatables = new HashSet<String>();
+	private final Map<CellKey, String> cellValues = new ConcurrentHashMap<CellKey, String>();
+	private final Queue<CellValue> pendingValues = new ConcurrentLinkedQueue<CellValue>();
+
+	/**
+	 * Function to get the overlay of the datatables copied into the specified
+	 * report folder
+	 *
+	 * @param sourcePath
+	 *            The folder in which the source datatables are stored
+	 * @param runTimePath
+	 *            The report folder into which the datatables are materialised
+	 * @return The {@link DatatableOverlay}
+	 */
+	public static DatatableOverlay getInstance(String sourcePath, String runTimePath) {
+		return overlays.computeIfAbsent(runTimePath, key -> new DatatableOverlay(sourcePath, runTimePath));
+	}
+
+	/**
+	 * Function to materialise every overlay created so far
+	 */
+	public static void materialiseAll() {
+		for (DatatableOverlay overlay : overlays.values()) {
+			try {
+				overlay.materialise();
+			} catch (FrameworkException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private DatatableOverlay(String sourcePath, String runTimePath) {
+		this.sourcePath = sourcePath;
+		this.runTimePath = runTimePath;
+	}
+
+	/**
+	 * Function to include a datatable in the report, even if no value is
+	 * written into it
+	 *
+	 * @param datatableName
+	 *            The name of the datatable file
+	 */
+	public void include(String datatableName) {
+		includedDatatables.add(datatableName);
+	}
+
+	/**
+	 * Function to record a value written into a datatable. The source datatable
+	 * is left as is, and the value is written into the report-side copy when
+	 * the overlay is materialised
+	 *
+	 * @param datatableName
+	 *            The name of the datatable file
+	 * @param datasheetName
+	 *            The name of the sheet
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnHeader
+	 *            The column header of the cell
+	 * @param value
+	 *            The value written
+	 */
+	public void putValue(String datatableName, String datasheetName, int rowNum, String columnHeader,
+			String value) {
+		CellKey cellKey = new CellKey(datatableName, datasheetName, rowNum, columnHeader);
+		String cellValue = value == null ? "" : value;
+		synchronized (pendingValues) {
+			cellValues.put(cellKey, cellValue);
+			pendingValues.add(new CellValue(cellKey, cellValue));
+		}
+		includedDatatables.add(datatableName);
+	}
+
+	/**
+	 * Function to get the value written into a cell during this run
+	 *
+	 * @param datatableName
+	 *            The name of the datatable file
+	 * @param datasheetName
+	 *            The name of the sheet
+	 * @param rowNum
+	 *            The row number of the cell
+	 * @param columnHeader
+	 *            The column header of the cell
+	 * @return The value written, or null if the cell still holds the value of
+	 *         the source datatable
+	 */
+	public String getValue(String datatableName, String datasheetName, int rowNum, String columnHeader) {
+		return cellValues.get(new CellKey(datatableName, datasheetName, rowNum, columnHeader));
+	}
+
+	/**
+	 * Function to copy the included datatables into the report folder, the
+	 * first time they are materialised, and write the pending values into the
+	 * copies with a single update per workbook
+	 */
+	public synchronized void materialise() {
+		List<CellValue> batch = new ArrayList<CellValue>();
+		synchronized (pendingValues) {
+			CellValue cellValue;
+			while ((cellValue = pendingValues.poll()) != null) {
+				batch.add(cellValue);
+			}
+		}
+
+		try {
+			for (String datatableName : new TreeSet<String>(includedDatatables)) {
+				if (!copiedDatatables.contains(datatableName)) {
+					copyDatatable(datatableName);
+					copiedDatatables.add(datatableName);
+				}
+			}
+
+			Map<String, Map<String, Map<Integer, Map<String, String>>>> datatableValues =
+					new LinkedHashMap<String, Map<String, Map<Integer, Map<String, String>>>>();
+			for (CellValue cellValue : batch) {
+				datatableValues.computeIfAbsent(cellValue.cellKey.datatableName,
+								key -> new LinkedHashMap<String, Map<Integer, Map<String, String>>>())
+						.computeIfAbsent(cellValue.cellKey.datasheetName,
+								key -> new LinkedHashMap<Integer, Map<String, String>>())
+						.computeIfAbsent(cellValue.cellKey.rowNum, key -> new LinkedHashMap<String, String>())
+						.put(cellValue.cellKey.columnHeader, cellValue.value);
+			}
+
+			for (Map.Entry<String, Map<String, Map<Integer, Map<String, String>>>> datatableData : datatableValues
+					.entrySet()) {
+				new ExcelDataAccess(runTimePath, datatableData.getKey()).setValues(datatableData.getValue());
+			}
+		} catch (RuntimeException e) {
+			// Keep the values so that the next materialisation retries them
+			synchronized (pendingValues) {
+				List<CellValue> laterValues = new ArrayList<CellValue>(pendingValues);
+				pendingValues.clear();
+				pendingValues.addAll(batch);
+				pendingValues.addAll(laterValues);
+			}
+			throw new FrameworkException("Unable to materialise the run-time datatables into " + runTimePath + ": "
+					+ e.getMessage());
+		}
+	}
+
+	private void copyDatatable(String datatableName) {
+		Path source = Paths.get(WhitelistingPath
+				.cleanStringForFilePath(sourcePath + Util.getFileSeparator() + datatableName + ".xls"));
+		Path target = Paths.get(WhitelistingPath
+				.cleanStringForFilePath(runTimePath + Util.getFileSeparator() + datatableName + ".xls"));
+		try {
+			Files.createDirectories(target.getParent());
+			Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new FrameworkException("Error in creating run-time datatable: Copying the datatable "
+					+ datatableName + " failed. " + e.getMessage());
+		}
+	}
+
+	/**
+	 * The (datatable, sheet, row, column) identifying a cell
+	 */
+	private static final class CellKey {
+		private final String datatableName, datasheetName, columnHeader;
+		private final int rowNum;
+
+		private CellKey(String datatableName, String datasheetName, int rowNum, String columnHeader) {
+			this.datatableName = datatableName;
+			this.datasheetName = datasheetName;
+			this.rowNum = rowNum;
+			this.columnHeader = columnHeader;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof CellKey)) {
+				return false;
+			}
+			CellKey cellKey = (CellKey) other;
+			return rowNum == cellKey.rowNum && datatableName.equals(cellKey.datatableName)
+					&& datasheetName.equals(cellKey.datasheetName) && columnHeader.equals(cellKey.columnHeader);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((datatableName.hashCode() * 31 + datasheetName.hashCode()) * 31 + rowNum) * 31
+					+ columnHeader.hashCode();
+		}
+	}
+
+	/**
+	 * A value written into a cell, pending materialisation
+	 */
+	private static final class CellValue {
+		private final CellKey cellKey;
+		private final String value;
+
+		private CellValue(CellKey cellKey, String value) {
+			this.cellKey = cellKey;
+			this.value = value;
+		}
+	}
+}
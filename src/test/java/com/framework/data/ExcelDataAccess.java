@@ -21,7 +21,10 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.poi.hssf.usermodel.HSSFCell;
@@ -38,7 +41,10 @@ import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.util.CellRangeAddress;
 
 import com.framework.components.FrameworkException;
+import com.framework.components.Settings;
 import com.framework.components.WhitelistingPath;
+import com.framework.data.ExcelWorkbookCache.CachedSheet;
+import com.framework.data.ExcelWorkbookCache.CachedWorkbook;
 import com.framework.report.Util;
 
 /**
@@ -95,15 +101,22 @@ public class ExcelDataAccess {
 		}
 	}
 
+	/**
+	 * Function to get the absolute path of the excel file
+	 * 
+	 * @return The absolute file path
+	 */
+	private String getAbsoluteFilePath() {
+		return WhitelistingPath.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xls");
+	}
+
 	/**
 	 * Function to read the excel file using HSSWorkbook
 	 * @return 
 	 */
 	private HSSFWorkbook openFileForReading() {
 
-		String encryptedAbsoluteFilePath = WhitelistingPath
-				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xls");
-		String absoluteFilePath = encryptedAbsoluteFilePath;
+		String absoluteFilePath = getAbsoluteFilePath();
 
 		FileInputStream fileInputStream;
 		try {
@@ -114,9 +127,8 @@ public class ExcelDataAccess {
 		}
 
 		HSSFWorkbook workbook;
-		try {
-			workbook = new HSSFWorkbook(fileInputStream);
-			// fileInputStream.close();
+		try (FileInputStream inputStream = fileInputStream) {
+			workbook = new HSSFWorkbook(inputStream);
 		} catch (IOException e) {
 			e.printStackTrace();
 			throw new FrameworkException(
@@ -126,15 +138,41 @@ public class ExcelDataAccess {
 		return workbook;
 	}
 
+	/**
+	 * Function to get the parsed copy of the excel file from the
+	 * {@link ExcelWorkbookCache}
+	 * 
+	 * @return The {@link CachedWorkbook}
+	 */
+	private CachedWorkbook getCachedWorkbook() {
+		return ExcelWorkbookCache.getWorkbook(getAbsoluteFilePath());
+	}
+
+	/**
+	 * Function to get the parsed copy of the current datasheet from the
+	 * {@link ExcelWorkbookCache}
+	 * 
+	 * @return The {@link CachedSheet}
+	 */
+	private CachedSheet getCachedSheet() {
+		checkPreRequisites();
+
+		CachedSheet worksheet = getCachedWorkbook().getSheet(datasheetName);
+		if (worksheet == null) {
+			throw new FrameworkException("The specified sheet \"" + datasheetName + "\""
+					+ "does not exist within the workbook \"" + fileName + ".xls\"");
+		}
+
+		return worksheet;
+	}
+
 	/**
 	 * Function to write a value into Excel workbook.
 	 * 
 	 * @param workbook - The sheet name to write the value
 	 */
 	private void writeIntoFile(HSSFWorkbook workbook) {
-		String encryptedAbsoluteFilePath = WhitelistingPath
-				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xls");
-		String absoluteFilePath = encryptedAbsoluteFilePath;
+		String absoluteFilePath = getAbsoluteFilePath();
 
 		FileOutputStream fileOutputStream;
 		try {
@@ -151,6 +189,8 @@ public class ExcelDataAccess {
 			e.printStackTrace();
 			throw new FrameworkException(
 					"Error while writing into the specified Excel workbook \"" + absoluteFilePath + "\"");
+		} finally {
+			ExcelWorkbookCache.invalidate(absoluteFilePath);
 		}
 	}
 
@@ -184,25 +224,23 @@ public class ExcelDataAccess {
 	 *         is not found)
 	 */
 	public int getRowNum(String key, int columnNum, int startRowNum) {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		String currentValue;
-		for (int currentRowNum = startRowNum; currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
-
-			HSSFRow row = worksheet.getRow(currentRowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(key)) {
-				return currentRowNum;
-			}
-		}
+		return getCachedSheet().getRowNum(key, columnNum, startRowNum);
+	}
 
-		return -1;
+	/**
+	 * Function to get the row number identified by the test case, iteration
+	 * and sub-iteration, using the index built when the workbook was cached
+	 * 
+	 * @param currentTestcase
+	 *            The ID of the test case
+	 * @param currentIteration
+	 *            The iteration
+	 * @param currentSubIteration
+	 *            The sub-iteration (0 matches the first row of the iteration)
+	 * @return The row number (-1 if the row is not found)
+	 */
+	public int getTestDataRowNum(String currentTestcase, int currentIteration, int currentSubIteration) {
+		return getCachedSheet().getTestDataRowNum(currentTestcase, currentIteration, currentSubIteration);
 	}
 
 	/*
@@ -270,12 +308,7 @@ public class ExcelDataAccess {
 	 * @return The last row number within the worksheet
 	 */
 	public int getLastRowNum() {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-
-		return worksheet.getLastRowNum();
+		return getCachedSheet().getLastRowNum();
 	}
 
 	/**
@@ -291,33 +324,7 @@ public class ExcelDataAccess {
 	 * @return The occurence count of the specified key
 	 */
 	public int getRowCount(String key, int columnNum, int startRowNum) {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		int rowCount = 0;
-		boolean keyFound = false;
-
-		String currentValue;
-		for (int currentRowNum = startRowNum; currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
-
-			HSSFRow row = worksheet.getRow(currentRowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(key)) {
-				rowCount++;
-				keyFound = true;
-			} else {
-				if (keyFound) {
-					break; // Assumption: Keys always appear contiguously
-				}
-			}
-		}
-
-		return rowCount;
+		return getCachedSheet().getRowCount(key, columnNum, startRowNum); // Assumption: Keys always appear contiguously
 	}
 
 	/**
@@ -346,20 +353,13 @@ public class ExcelDataAccess {
 	 *         key is not found)
 	 */
 	public int getColumnNum(String key, int rowNum) {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		HSSFRow row = worksheet.getRow(rowNum);
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			HSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+		CachedSheet worksheet = getCachedSheet();
+		if (rowNum == 0) {
+			return worksheet.getColumnNum(key);
+		}
 
-			if (currentValue.equals(key)) {
+		for (int currentColumnNum = 0; currentColumnNum < worksheet.getCellCount(rowNum); currentColumnNum++) {
+			if (worksheet.getValue(rowNum, currentColumnNum).equals(key)) {
 				return currentColumnNum;
 			}
 		}
@@ -378,15 +378,7 @@ public class ExcelDataAccess {
 	 * @return The value present in the cell
 	 */
 	public String getValue(int rowNum, int columnNum) {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		HSSFRow row = worksheet.getRow(rowNum);
-		HSSFCell cell = row.getCell(columnNum);
-		return getCellValueAsString(cell, formulaEvaluator);
+		return getCachedSheet().getValue(rowNum, columnNum);
 	}
 
 	/**
@@ -400,34 +392,14 @@ public class ExcelDataAccess {
 	 * @return The value present in the cell
 	 */
 	public String getValue(int rowNum, String columnHeader) {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		HSSFRow row = worksheet.getRow(0); // 0 because header is always in the
-		// first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-
-			HSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
+		CachedSheet worksheet = getCachedSheet();
 
+		int columnNum = worksheet.getColumnNum(columnHeader); // header is always in the first row
 		if (columnNum == -1) {
 			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
 					+ "is not found in the sheet \"" + datasheetName + "\"!");
 		} else {
-			row = worksheet.getRow(rowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
+			return worksheet.getValue(rowNum, columnNum);
 		}
 	}
 
@@ -445,38 +417,26 @@ public class ExcelDataAccess {
 
 		//		checkPreRequisites();
 		System.out.println("Current test case - " + currentTestcase);
-		HSSFWorkbook workbook = openFileForReading();
+		CachedWorkbook workbook = getCachedWorkbook();
 
-		for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+		for (String sheetName : workbook.getSheetNames()) {
 
-			HSSFSheet worksheet = workbook.getSheet(workbook.getSheetName(i));
+			CachedSheet worksheet = workbook.getSheet(sheetName);
 
-			setDatasheetName(workbook.getSheetName(i));
+			setDatasheetName(sheetName);
 
-			FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-			int rowNum = getRowNum(currentTestcase, 0, 1); 
+			int rowNum = worksheet.getRowNum(currentTestcase, 0, 1); 
 
 			if(rowNum == -1) {
-				System.out.println(currentTestcase + " is not found in the sheet " + workbook.getSheetName(i));
+				System.out.println(currentTestcase + " is not found in the sheet " + sheetName);
 			} else {
-				String column;
-				String value;
-
 				HashMap<String, String> cellmap = new HashMap<String, String>();
 
-				for (int currentColumnNum = 0; currentColumnNum < worksheet.getRow(0).getLastCellNum(); currentColumnNum++) {
-
-					HSSFCell cell = worksheet.getRow(0).getCell(currentColumnNum);
-					column = getCellValueAsString(cell, formulaEvaluator);
-
-					HSSFCell cellValue = worksheet.getRow(rowNum).getCell(currentColumnNum);
-					value = getCellValueAsString(cellValue, formulaEvaluator);
-
-					cellmap.put(column, value);
+				for (int currentColumnNum = 0; currentColumnNum < worksheet.getColumnCount(); currentColumnNum++) {
+					cellmap.put(worksheet.getValue(0, currentColumnNum), worksheet.getValue(rowNum, currentColumnNum));
 				}
 
-				datamap.put(workbook.getSheetName(i), cellmap);
+				datamap.put(sheetName, cellmap);
 			}
 
 		}
@@ -498,26 +458,30 @@ public class ExcelDataAccess {
 	public HashMap<String,HashMap<String, HashMap<String, String>>> readExcelValues(String currentTestcase, int currentIteration) {
 
 		HashMap<String,HashMap<String, HashMap<String, String>>> datamap = new HashMap<String,HashMap<String, HashMap<String, String>>>();
-		HSSFWorkbook workbook = openFileForReading();
-		for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-			HSSFSheet worksheet = workbook.getSheet(workbook.getSheetName(i));
-			setDatasheetName(workbook.getSheetName(i));
-			FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-			String column;
-			String value;
+		if (isStreamingReadMode()) {
+			// Only the rows of the current test case are read from the file
+			for (Map.Entry<String, List<TestDataRow>> sheet : readTestcaseRows(currentTestcase).entrySet()) {
+				HashMap<String,HashMap<String, String>> map = new HashMap<String,HashMap<String, String>>();
+				for (TestDataRow row : sheet.getValue()) {
+					String subIteration = row.containsColumn("SubIteration") ? row.get("SubIteration") : "1";
+					map.put(currentTestcase + "_" + subIteration, new HashMap<String, String>(row.toMap()));
+				}
+				datamap.put(sheet.getKey(), map);
+			}
+			return datamap;
+		}
+
+		CachedWorkbook workbook = getCachedWorkbook();
+		for (String sheetName : workbook.getSheetNames()) {
+			CachedSheet worksheet = workbook.getSheet(sheetName);
+			setDatasheetName(sheetName);
 			int startRowNum = 1;
 			HashMap<String,HashMap<String, String>> map = new HashMap<String,HashMap<String, String>>();
 			for (int currentRowNum = startRowNum; currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
-				HSSFRow row = worksheet.getRow(currentRowNum);
-				HSSFCell cells = row.getCell(0);
-				String currentValue = getCellValueAsString(cells, formulaEvaluator);
+				String currentValue = worksheet.getValue(currentRowNum, 0);
 				HashMap<String, String> cellmap = new HashMap<String, String>();
-				for (int currentColumnNum = 0; currentColumnNum < worksheet.getRow(0).getLastCellNum(); currentColumnNum++) {
-					HSSFCell cell = worksheet.getRow(0).getCell(currentColumnNum);
-					column = getCellValueAsString(cell, formulaEvaluator);
-					HSSFCell cellValue = worksheet.getRow(currentRowNum).getCell(currentColumnNum);
-					value = getCellValueAsString(cellValue, formulaEvaluator);
-					cellmap.put(column, value);
+				for (int currentColumnNum = 0; currentColumnNum < worksheet.getColumnCount(); currentColumnNum++) {
+					cellmap.put(worksheet.getValue(0, currentColumnNum), worksheet.getValue(currentRowNum, currentColumnNum));
 				}
 				if(cellmap.containsKey("SubIteration")) {
 					map.put(currentValue+"_"+cellmap.get("SubIteration"), cellmap);
@@ -526,11 +490,63 @@ public class ExcelDataAccess {
 				}
 				
 			}
-			datamap.put(workbook.getSheetName(i), map);
+			datamap.put(sheetName, map);
 		}
 		return datamap;
 
 	}
+	/**
+	 * Function to get the rows of the specified test case from all the sheets
+	 * of the excel file. In the Streaming ExcelReadMode, the file is streamed
+	 * and only the matching rows are read; otherwise the rows are taken from
+	 * the {@link ExcelWorkbookCache}
+	 * 
+	 * @param currentTestcase
+	 *            The test case name, as found in the first column
+	 * @return The rows of the test case, keyed by sheet name
+	 */
+	public Map<String, List<TestDataRow>> readTestcaseRows(String currentTestcase) {
+		if (isStreamingReadMode()) {
+			return ExcelStreamingReader.readRows(getAbsoluteFilePath(), currentTestcase);
+		}
+
+		Map<String, List<TestDataRow>> testcaseRows = new LinkedHashMap<String, List<TestDataRow>>();
+		CachedWorkbook workbook = getCachedWorkbook();
+		for (String sheetName : workbook.getSheetNames()) {
+			CachedSheet worksheet = workbook.getSheet(sheetName);
+
+			List<String> header = new ArrayList<String>();
+			for (int currentColumnNum = 0; currentColumnNum < worksheet.getColumnCount(); currentColumnNum++) {
+				header.add(worksheet.getValue(0, currentColumnNum));
+			}
+			TestDataSchema schema = TestDataSchema.of(sheetName, header);
+
+			List<TestDataRow> rows = new ArrayList<TestDataRow>();
+			int rowNum = worksheet.getRowNum(currentTestcase, 0, 1);
+			while (rowNum != -1) {
+				String[] values = new String[header.size()];
+				for (int currentColumnNum = 0; currentColumnNum < values.length; currentColumnNum++) {
+					values[currentColumnNum] = worksheet.getValue(rowNum, currentColumnNum);
+				}
+				rows.add(new TestDataRow(schema, values));
+				rowNum = worksheet.getRowNum(currentTestcase, 0, rowNum + 1);
+			}
+			testcaseRows.put(sheetName, rows);
+		}
+
+		return testcaseRows;
+	}
+
+	/**
+	 * Function to check whether the excel files are to be streamed rather than
+	 * loaded, as per the ExcelReadMode setting
+	 * 
+	 * @return true in the Streaming ExcelReadMode
+	 */
+	private static boolean isStreamingReadMode() {
+		return "Streaming".equalsIgnoreCase(Settings.getInstance().getProperty("ExcelReadMode", "Cached"));
+	}
+
 	/**
 	 * Function to apply cell style(Formatting)
 	 * @param workbook - The work book name
@@ -672,6 +688,55 @@ public class ExcelDataAccess {
 		}
 	}
 
+	/**
+	 * Function to set a batch of values in the cells identified by their sheet
+	 * name, row number and column header, with a single read and write of the
+	 * workbook
+	 *
+	 * @param sheetValues
+	 *            The values to be set, keyed by sheet name, row number and
+	 *            column header
+	 */
+	public void setValues(Map<String, Map<Integer, Map<String, String>>> sheetValues) {
+		if (sheetValues.isEmpty()) {
+			return;
+		}
+
+		HSSFWorkbook workbook = openFileForReading();
+		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+
+		for (Map.Entry<String, Map<Integer, Map<String, String>>> sheetData : sheetValues.entrySet()) {
+			HSSFSheet worksheet = workbook.getSheet(sheetData.getKey());
+			if (worksheet == null) {
+				throw new FrameworkException("The specified sheet \"" + sheetData.getKey() + "\""
+						+ "does not exist within the workbook \"" + fileName + ".xls\"");
+			}
+
+			HSSFRow headerRow = worksheet.getRow(0); // header is always in the first row
+			Map<String, Integer> columnNumbers = new HashMap<String, Integer>();
+			for (int columnNum = 0; columnNum < headerRow.getLastCellNum(); columnNum++) {
+				columnNumbers.putIfAbsent(getCellValueAsString(headerRow.getCell(columnNum), formulaEvaluator),
+						columnNum);
+			}
+
+			for (Map.Entry<Integer, Map<String, String>> rowData : sheetData.getValue().entrySet()) {
+				HSSFRow row = worksheet.getRow(rowData.getKey());
+				for (Map.Entry<String, String> cellData : rowData.getValue().entrySet()) {
+					Integer columnNum = columnNumbers.get(cellData.getKey());
+					if (columnNum == null) {
+						throw new FrameworkException("The specified column header \"" + cellData.getKey() + "\""
+								+ "is not found in the sheet \"" + sheetData.getKey() + "\"!");
+					}
+					HSSFCell cell = row.createCell(columnNum);
+					cell.setCellType(CellType.STRING);
+					cell.setCellValue(cellData.getValue());
+				}
+			}
+		}
+
+		writeIntoFile(workbook);
+	}
+
 	/**
 	 * Function to set a hyperlink in the cell identified by the specified row
 	 * and column numbers
@@ -1042,56 +1107,18 @@ public class ExcelDataAccess {
 	 * @return The values in hashmap
 	 */
 	public Map<String, String> getValuesForSpecificRow(String[] keys, int rowNum) {
-		checkPreRequisites();
-
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
-
-		HSSFRow hrow = worksheet.getRow(0);
+		CachedSheet worksheet = getCachedSheet();
 
 		Map<String, String> valueMap = new HashMap<String, String>();
-		HSSFRow row = worksheet.getRow(rowNum);
 		for (int j = 0; j < keys.length; j++) {
-			String value = getValue(hrow, row, keys[j], formulaEvaluator, keys.length);
-			valueMap.put(keys[j], value);
-		}
-		return valueMap;
-	}
-
-	/**
-	 * Function to get values for a cell
-	 * @param hrow
-	 * @param row - The row number
-	 * @param columnHeader - The column header
-	 * @param formulaEvaluator
-	 * @param length
-	 * @return
-	 */
-	private String getValue(HSSFRow hrow, HSSFRow row, String columnHeader, FormulaEvaluator formulaEvaluator,
-			int length) {
-		int columnNum = -1;
-		String currentValue;
-
-		for (int currentColumnNum = 0; currentColumnNum < length; currentColumnNum++) {
-			HSSFCell cell = hrow.getCell(currentColumnNum);
-
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
+			int columnNum = worksheet.getColumnNum(keys[j]);
+			if (columnNum == -1) {
+				throw new FrameworkException("The specified column header \"" + keys[j] + "\""
+						+ "is not found in the sheet \"" + datasheetName + "\"!");
 			}
+			valueMap.put(keys[j], worksheet.getValue(rowNum, columnNum));
 		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-
-			HSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
-		}
+		return valueMap;
 	}
 
 	/**
@@ -1108,64 +1135,86 @@ public class ExcelDataAccess {
 	 */
 	public void updateExcel(String filepath, String currentTestname, String columnname, String value) {
 
-		String filename = filepath + Util.getFileSeparator() + "Output.xls";
+		Map<String, Map<String, String>> outputData = new LinkedHashMap<String, Map<String, String>>();
+		outputData.computeIfAbsent(currentTestname, k -> new LinkedHashMap<String, String>()).put(columnname, value);
 
-		try  {	
+		updateExcel(filepath, outputData);
 
-			if (!new File(filename).exists()) {
+	}
+
+	/**
+	 * Function to update a batch of excel cell values with a single read and
+	 * write of the output workbook
+	 * 
+	 * @param filepath
+	 * 				The folder path to create excel file
+	 * @param outputData
+	 * 				The values to update, keyed by test case name and column header
+	 */
+	public void updateExcel(String filepath, Map<String, Map<String, String>> outputData) {
 
-				createOutputExcel(filename,columnname);	
+		if (outputData.isEmpty()) {
+			return;
+		}
+
+		String filename = filepath + Util.getFileSeparator() + "Output.xls";
 
+		try  {	
+
+			HSSFWorkbook workbook;
+			if (new File(filename).exists()) {
+				try (FileInputStream fileInputStream = new FileInputStream(filename)) {
+					workbook = new HSSFWorkbook(fileInputStream);
+				}
+			} else {
+				workbook = new HSSFWorkbook();
+				workbook.createSheet("OutputData").createRow(0).createCell(0).setCellValue("TC_ID");
 			}
 
-			FileInputStream fileInputStream = new FileInputStream(filename);
-			HSSFWorkbook workbook = new HSSFWorkbook(fileInputStream);  
 			HSSFSheet sheet = workbook.getSheet("OutputData");
-			int rowNumber = 0;
-			int columnNumber = 0;
-			boolean flagHeader = false;
 			HSSFRow columnHeader = sheet.getRow(0);  
+			Map<String, Integer> columnNumbers = new HashMap<String, Integer>();
 			for(int col=0; col< columnHeader.getLastCellNum(); col++){
 				Cell cell = columnHeader.getCell(col);
-				String colName = cell.getStringCellValue();
-				if(colName.equals(columnname)) {
-					columnNumber = col;
-					flagHeader = true;
-					break;
-				}	   
-			}
-
-			if(!flagHeader) {
-				columnNumber = columnHeader.getLastCellNum();
-				columnHeader.createCell(columnHeader.getLastCellNum()).setCellValue(columnname);
+				if (cell != null) {
+					columnNumbers.putIfAbsent(cell.getStringCellValue(), col);
+				}
 			}
 
-			boolean flagTestcase = false;
+			Map<String, Integer> rowNumbers = new HashMap<String, Integer>();
 			for(int j = 0; j<sheet.getLastRowNum()+1;j++) {
 				HSSFRow testRow = sheet.getRow(j);
-				Cell cell = testRow.getCell(0);
-				String rowValue = cell.getStringCellValue();
-				if(rowValue.equals(currentTestname)) {
-					rowNumber = j;
-					flagTestcase = true;
-					break;
+				if (testRow != null && testRow.getCell(0) != null) {
+					rowNumbers.putIfAbsent(testRow.getCell(0).getStringCellValue(), j);
 				}
-
 			}
 
-			if(!flagTestcase) {
-				int lasrownum = sheet.getLastRowNum()+1;
-				HSSFRow row = sheet.createRow((short) lasrownum);  
-				row.createCell(0).setCellValue(currentTestname);  
-				row.createCell(columnNumber).setCellValue(value); 
-			} else {
-				HSSFRow row = sheet.getRow(rowNumber);
-				row.createCell(columnNumber).setCellValue(value);
+			for (Map.Entry<String, Map<String, String>> testcaseData : outputData.entrySet()) {
+				Integer rowNumber = rowNumbers.get(testcaseData.getKey());
+				HSSFRow row;
+				if (rowNumber == null) {
+					int lasrownum = sheet.getLastRowNum()+1;
+					row = sheet.createRow(lasrownum);  
+					row.createCell(0).setCellValue(testcaseData.getKey());  
+					rowNumbers.put(testcaseData.getKey(), lasrownum);
+				} else {
+					row = sheet.getRow(rowNumber);
+				}
+
+				for (Map.Entry<String, String> columnData : testcaseData.getValue().entrySet()) {
+					Integer columnNumber = columnNumbers.get(columnData.getKey());
+					if (columnNumber == null) {
+						columnNumber = (int) columnHeader.getLastCellNum();
+						columnHeader.createCell(columnNumber).setCellValue(columnData.getKey());
+						columnNumbers.put(columnData.getKey(), columnNumber);
+					}
+					row.createCell(columnNumber).setCellValue(columnData.getValue());
+				}
 			}
 
-			FileOutputStream fileOut = new FileOutputStream(filename);  
-			workbook.write(fileOut);  
-			fileOut.close();  
+			try (FileOutputStream fileOut = new FileOutputStream(filename)) {
+				workbook.write(fileOut);  
+			}
 			workbook.close();  
 
 		}   catch (Exception e)    {  
@@ -85,6 +85,15 @@ public class ExcelDataAccessforxlsm {
 		}
 	}
 
+	/**
+	 * Function to get the absolute path of the excel file
+	 * 
+	 * @return The absolute file path
+	 */
+	private String getAbsoluteFilePath() {
+		return WhitelistingPath.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xlsm");
+	}
+
 	/**
 	 * Function to read the excel file using HSSWorkbook
 	 * 
@@ -92,9 +101,7 @@ public class ExcelDataAccessforxlsm {
 	 */
 	private XSSFWorkbook openFileForReading() {
 
-		String encryptedAbsoluteFilePath = WhitelistingPath
-				.cleanStringForFilePath(filePath + Util.getFileSeparator() + fileName + ".xlsm");
-		String absoluteFilePath = encryptedAbsoluteFilePath;
+		String absoluteFilePath = getAbsoluteFilePath();
 
 		FileInputStream fileInputStream;
 		try {
@@ -245,25 +252,31 @@ public class ExcelDataAccessforxlsm {
 	}
 
 	/**
-	 * Function to get value for specific row
+	 * Function to get the values of the specified columns for all the rows.
+	 * The sheet is streamed through the SAX parser rather than loaded, and
+	 * only the requested columns are kept
 	 * @param keys Keys as arrays
-	 * @param rowNum - The row number
 	 * @return The values in List
 	 */
 	public List<Map<String, String>> getValues(String[] keys) {
 		checkPreRequisites();
 
-		XSSFWorkbook workbook = openFileForReading();
-		XSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+		List<TestDataRow> rows = ExcelStreamingReader.readRows(getAbsoluteFilePath(), datasheetName, null)
+				.get(datasheetName);
+		if (rows == null) {
+			throw new FrameworkException("The specified sheet \"" + datasheetName + "\""
+					+ "does not exist within the workbook \"" + fileName + ".xlsm\"");
+		}
 
-		XSSFRow hrow = worksheet.getRow(0);
 		List<Map<String, String>> values = new ArrayList<Map<String, String>>();
-		for (int i = 1; i <= this.getLastRowNum(); i++) {
+		for (TestDataRow row : rows) {
 			Map<String, String> valueMap = new HashMap<String, String>();
-			XSSFRow row = worksheet.getRow(i);
 			for (int j = 0; j < keys.length; j++) {
-				String value = getValue(hrow, row, keys[j], formulaEvaluator);
+				String value = row.get(keys[j]);
+				if (value == null) {
+					throw new FrameworkException("The specified column header \"" + keys[j] + "\""
+							+ "is not found in the sheet \"" + datasheetName + "\"!");
+				}
 				valueMap.put(keys[j], value);
 			}
 			values.add(valueMap);
@@ -297,39 +310,6 @@ public class ExcelDataAccessforxlsm {
 		return valueMap;
 	}
 
-	/**
-	 * Function to get values for a cell
-	 * @param hrow
-	 * @param row - The row number
-	 * @param columnHeader - The column header
-	 * @param formulaEvaluator
-	 * @return
-	 */
-	private String getValue(XSSFRow hrow, XSSFRow row, String columnHeader, FormulaEvaluator formulaEvaluator) {
-		int columnNum = -1;
-		String currentValue;
-
-		for (int currentColumnNum = 0; currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-			XSSFCell cell = hrow.getCell(currentColumnNum);
-
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-
-		if (columnNum == -1) {
-			throw new FrameworkException("The specified column header \"" + columnHeader + "\""
-					+ "is not found in the sheet \"" + datasheetName + "\"!");
-		} else {
-
-			XSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
-		}
-	}
-
 	/**
 	 * Function to get values for a cell
 	 * @param hrow
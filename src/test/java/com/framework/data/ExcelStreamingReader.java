@@ -0,0 +1,417 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import com.framework.components.FrameworkException;
+
+/**
+ * Streaming reader for large excel datatables. The .xls files are read through
+ * the HSSF event API and the .xlsx/.xlsm files through the XSSF SAX parser, so
+ * that the workbook is never loaded into memory as a whole: only the header row
+ * and the rows whose first column matches the requested key are kept, as
+ * {@link TestDataRow} objects
+ *
+ * @author Qualitest
+ */
+public final class ExcelStreamingReader {
+
+	private ExcelStreamingReader() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to read the rows matching the specified key from all the sheets
+	 * of an excel file
+	 *
+	 * @param absoluteFilePath
+	 *            The absolute path of the excel file (.xls, .xlsx or .xlsm)
+	 * @param key
+	 *            The value expected in the first column of the rows to be read
+	 *            (null to read all the rows)
+	 * @return The matching rows of each sheet, keyed by sheet name (in sheet
+	 *         order)
+	 */
+	public static Map<String, List<TestDataRow>> readRows(String absoluteFilePath, String key) {
+		return readRows(absoluteFilePath, null, key);
+	}
+
+	/**
+	 * Function to read the rows matching the specified key from a sheet of an
+	 * excel file
+	 *
+	 * @param absoluteFilePath
+	 *            The absolute path of the excel file (.xls, .xlsx or .xlsm)
+	 * @param sheetName
+	 *            The name of the sheet to be read (null to read all the sheets)
+	 * @param key
+	 *            The value expected in the first column of the rows to be read
+	 *            (null to read all the rows)
+	 * @return The matching rows of each sheet read, keyed by sheet name (in
+	 *         sheet order)
+	 */
+	public static Map<String, List<TestDataRow>> readRows(String absoluteFilePath, String sheetName, String key) {
+		File file = new File(absoluteFilePath);
+		if (!file.exists()) {
+			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
+		}
+
+		RowCollector collector = new RowCollector(sheetName, key);
+		try {
+			if (absoluteFilePath.toLowerCase().endsWith(".xls")) {
+				readHssf(file, collector);
+			} else {
+				readXssf(file, collector);
+			}
+		} catch (IOException | OpenXML4JException | SAXException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while reading the specified Excel workbook \"" + absoluteFilePath + "\"");
+		}
+
+		return collector.sheets;
+	}
+
+	private static void readHssf(File file, RowCollector collector) throws IOException {
+		try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+			HssfRecordListener recordListener = new HssfRecordListener(collector);
+			FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(recordListener);
+			recordListener.formatListener = formatListener;
+
+			HSSFRequest request = new HSSFRequest();
+			request.addListenerForAllRecords(formatListener);
+			new HSSFEventFactory().processWorkbookEvents(request, fileSystem);
+		}
+	}
+
+	private static void readXssf(File file, RowCollector collector)
+			throws IOException, OpenXML4JException, SAXException {
+		try (OPCPackage excelPackage = OPCPackage.open(file, PackageAccess.READ)) {
+			XSSFReader reader = new XSSFReader(excelPackage);
+			ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(excelPackage);
+			StylesTable styles = reader.getStylesTable();
+
+			XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+			while (sheetIterator.hasNext()) {
+				try (InputStream sheetStream = sheetIterator.next()) {
+					if (!collector.startSheet(sheetIterator.getSheetName())) {
+						continue;
+					}
+
+					XMLReader parser;
+					try {
+						parser = XMLHelper.newXMLReader();
+					} catch (ParserConfigurationException e) {
+						throw new SAXException(e);
+					}
+					parser.setContentHandler(new XSSFSheetXMLHandler(styles, sharedStrings,
+							new XssfSheetContentsHandler(collector), new DataFormatter(), false));
+					parser.parse(new InputSource(sheetStream));
+					collector.endSheet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Assembles the cells reported by either parser into rows, skipping each
+	 * row as soon as its first cell shows that the key does not match
+	 */
+	private static final class RowCollector {
+		private final String requestedSheet, key;
+		private final Map<String, List<TestDataRow>> sheets = new LinkedHashMap<String, List<TestDataRow>>();
+
+		private String currentSheet;
+		private List<String> header;
+		private TestDataSchema schema;
+		private List<TestDataRow> rows;
+
+		private int currentRowNum = -1;
+		private boolean skipRow;
+		private String[] rowValues;
+
+		private RowCollector(String requestedSheet, String key) {
+			this.requestedSheet = requestedSheet;
+			this.key = key;
+		}
+
+		private boolean startSheet(String sheetName) {
+			if (requestedSheet != null && !requestedSheet.equals(sheetName)) {
+				currentSheet = null;
+				return false;
+			}
+
+			currentSheet = sheetName;
+			header = new ArrayList<String>();
+			schema = null;
+			rows = new ArrayList<TestDataRow>();
+			currentRowNum = -1;
+			return true;
+		}
+
+		private boolean isReadingSheet() {
+			return currentSheet != null;
+		}
+
+		private void startRow(int rowNum) {
+			endRow();
+			currentRowNum = rowNum;
+			skipRow = false;
+			rowValues = null;
+		}
+
+		private void cell(int rowNum, int columnNum, String value) {
+			if (rowNum != currentRowNum) {
+				startRow(rowNum);
+			}
+			if (skipRow) {
+				return;
+			}
+
+			if (rowNum == 0) { // 0 because header is always in the first row
+				while (header.size() < columnNum) {
+					header.add("");
+				}
+				header.add(value);
+				return;
+			}
+
+			if (rowValues == null) {
+				// The first cell decides whether the row is kept at all
+				if (key != null && (columnNum != 0 || !key.equals(value))) {
+					skipRow = true;
+					return;
+				}
+				rowValues = new String[getSchema().getColumnCount()];
+			}
+			if (columnNum < rowValues.length) {
+				rowValues[columnNum] = value;
+			}
+		}
+
+		private void endRow() {
+			if (currentRowNum > 0 && !skipRow && rowValues != null) {
+				rows.add(new TestDataRow(getSchema(), rowValues));
+			}
+			currentRowNum = -1;
+			rowValues = null;
+		}
+
+		private void endSheet() {
+			if (currentSheet == null) {
+				return;
+			}
+			endRow();
+			getSchema();
+			sheets.put(currentSheet, rows);
+			currentSheet = null;
+		}
+
+		private TestDataSchema getSchema() {
+			if (schema == null) {
+				schema = TestDataSchema.of(currentSheet, header);
+			}
+			return schema;
+		}
+	}
+
+	/**
+	 * Receives the records of an .xls file from the HSSF event API
+	 */
+	private static final class HssfRecordListener implements HSSFListener {
+		private final RowCollector collector;
+		private final List<BoundSheetRecord> boundSheets = new ArrayList<BoundSheetRecord>();
+		private List<BoundSheetRecord> sheetsInStreamOrder;
+		private FormatTrackingHSSFListener formatListener;
+		private SSTRecord sharedStrings;
+
+		private int sheetIndex = -1;
+		private int substreamDepth;
+		private boolean inWorksheet;
+
+		private int pendingFormulaRow = -1, pendingFormulaColumn;
+
+		private HssfRecordListener(RowCollector collector) {
+			this.collector = collector;
+		}
+
+		@Override
+		public void processRecord(Record record) {
+			switch (record.getSid()) {
+			case BoundSheetRecord.sid:
+				boundSheets.add((BoundSheetRecord) record);
+				break;
+
+			case BOFRecord.sid:
+				BOFRecord bof = (BOFRecord) record;
+				// Charts embedded in a worksheet open a nested substream
+				if (substreamDepth++ == 0 && bof.getType() != BOFRecord.TYPE_WORKBOOK) {
+					if (sheetsInStreamOrder == null) {
+						sheetsInStreamOrder = Arrays.asList(BoundSheetRecord.orderByBofPosition(boundSheets));
+					}
+					sheetIndex++;
+					inWorksheet = bof.getType() == BOFRecord.TYPE_WORKSHEET && sheetIndex < sheetsInStreamOrder.size()
+							&& collector.startSheet(sheetsInStreamOrder.get(sheetIndex).getSheetname());
+				}
+				break;
+
+			case EOFRecord.sid:
+				if (--substreamDepth == 0 && inWorksheet) {
+					collector.endSheet();
+					inWorksheet = false;
+				}
+				break;
+
+			case SSTRecord.sid:
+				sharedStrings = (SSTRecord) record;
+				break;
+
+			case LabelSSTRecord.sid:
+				LabelSSTRecord labelSST = (LabelSSTRecord) record;
+				cell(labelSST, sharedStrings.getString(labelSST.getSSTIndex()).getString());
+				break;
+
+			case LabelRecord.sid:
+				LabelRecord label = (LabelRecord) record;
+				cell(label.getRow(), label.getColumn(), label.getValue());
+				break;
+
+			case NumberRecord.sid:
+				NumberRecord number = (NumberRecord) record;
+				cell(number, formatListener.formatNumberDateCell(number));
+				break;
+
+			case BoolErrRecord.sid:
+				BoolErrRecord boolErr = (BoolErrRecord) record;
+				if (boolErr.isBoolean()) {
+					cell(boolErr, boolErr.getBooleanValue() ? "TRUE" : "FALSE");
+				} else {
+					cell(boolErr, FormulaError.forInt(boolErr.getErrorValue()).getString());
+				}
+				break;
+
+			case FormulaRecord.sid:
+				FormulaRecord formula = (FormulaRecord) record;
+				if (formula.hasCachedResultString()) {
+					// The cached string result follows in a StringRecord
+					pendingFormulaRow = formula.getRow();
+					pendingFormulaColumn = formula.getColumn();
+				} else {
+					cell(formula, formatListener.formatNumberDateCell(formula));
+				}
+				break;
+
+			case StringRecord.sid:
+				if (pendingFormulaRow != -1) {
+					cell(pendingFormulaRow, pendingFormulaColumn, ((StringRecord) record).getString());
+					pendingFormulaRow = -1;
+				}
+				break;
+
+			default:
+				break;
+			}
+		}
+
+		private void cell(CellValueRecordInterface record, String value) {
+			cell(record.getRow(), record.getColumn(), value);
+		}
+
+		private void cell(int rowNum, int columnNum, String value) {
+			if (inWorksheet && collector.isReadingSheet()) {
+				collector.cell(rowNum, columnNum, value);
+			}
+		}
+	}
+
+	/**
+	 * Receives the cells of an .xlsx/.xlsm worksheet from the XSSF SAX parser
+	 */
+	private static final class XssfSheetContentsHandler implements SheetContentsHandler {
+		private final RowCollector collector;
+		private int currentRowNum, nextColumnNum;
+
+		private XssfSheetContentsHandler(RowCollector collector) {
+			this.collector = collector;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			currentRowNum = rowNum;
+			nextColumnNum = 0;
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			collector.endRow();
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int columnNum = cellReference == null ? nextColumnNum : new CellReference(cellReference).getCol();
+			nextColumnNum = columnNum + 1;
+			collector.cell(currentRowNum, columnNum, formattedValue == null ? "" : formattedValue);
+		}
+
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+			// Headers and footers are not part of the test data
+		}
+	}
+}
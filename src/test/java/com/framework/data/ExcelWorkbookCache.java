@@ -0,0 +1,464 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.apache.poi.hssf.usermodel.HSSFRow;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+
+import com.framework.components.FrameworkException;
+
+/**
+ * Process-wide cache of parsed .xls workbooks, keyed by the absolute file path
+ * and the last modified time of the file. Each workbook is parsed once into
+ * immutable {@link CachedSheet}s, so that subsequent lookups are served from
+ * memory without any file I/O
+ *
+ * @author Qualitest
+ */
+public final class ExcelWorkbookCache {
+	private static final Map<String, CachedWorkbook> workbooks = new ConcurrentHashMap<String, CachedWorkbook>();
+
+	private ExcelWorkbookCache() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to get the parsed workbook for the specified file, parsing it
+	 * only if it is not cached yet or has been modified since it was cached
+	 *
+	 * @param absoluteFilePath
+	 *            The absolute path of the .xls file
+	 * @return The {@link CachedWorkbook} for the specified file
+	 */
+	public static CachedWorkbook getWorkbook(String absoluteFilePath) {
+		File file = new File(absoluteFilePath);
+		if (!file.exists()) {
+			throw new FrameworkException("The specified file \"" + absoluteFilePath + "\" does not exist!");
+		}
+		final long lastModified = file.lastModified();
+		final long length = file.length();
+
+		CachedWorkbook cachedWorkbook = workbooks.get(absoluteFilePath);
+		if (cachedWorkbook != null && cachedWorkbook.isCurrent(lastModified, length)) {
+			return cachedWorkbook;
+		}
+
+		return workbooks.compute(absoluteFilePath, (path, existing) -> {
+			if (existing != null && existing.isCurrent(lastModified, length)) {
+				return existing;
+			}
+			return load(file, lastModified, length);
+		});
+	}
+
+	/**
+	 * Function to drop the cached copy of the specified file, so that the next
+	 * lookup re-parses it from disk
+	 *
+	 * @param absoluteFilePath
+	 *            The absolute path of the .xls file
+	 */
+	public static void invalidate(String absoluteFilePath) {
+		workbooks.remove(absoluteFilePath);
+	}
+
+	/**
+	 * Function to drop all the cached workbooks
+	 */
+	public static void clear() {
+		workbooks.clear();
+	}
+
+	/**
+	 * Function to parse the specified file into a {@link CachedWorkbook}
+	 */
+	private static CachedWorkbook load(File file, long lastModified, long length) {
+		try (FileInputStream fileInputStream = new FileInputStream(file);
+				HSSFWorkbook workbook = new HSSFWorkbook(fileInputStream)) {
+			FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+			DataFormatter dataFormatter = new DataFormatter();
+
+			Map<String, CachedSheet> sheets = new LinkedHashMap<String, CachedSheet>();
+			for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+				HSSFSheet worksheet = workbook.getSheetAt(i);
+				sheets.put(worksheet.getSheetName(), parseSheet(worksheet, formulaEvaluator, dataFormatter));
+			}
+
+			return new CachedWorkbook(file.getName(), lastModified, length, sheets);
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new FrameworkException(
+					"Error while opening the specified Excel workbook \"" + file.getAbsolutePath() + "\"");
+		}
+	}
+
+	/**
+	 * Function to evaluate every cell of the worksheet into its display value
+	 */
+	private static CachedSheet parseSheet(HSSFSheet worksheet, FormulaEvaluator formulaEvaluator,
+			DataFormatter dataFormatter) {
+		int lastRowNum = worksheet.getLastRowNum();
+		String[][] values = new String[lastRowNum + 1][];
+		Map<Long, Byte> errorCells = new HashMap<Long, Byte>();
+
+		for (int currentRowNum = 0; currentRowNum <= lastRowNum; currentRowNum++) {
+			HSSFRow row = worksheet.getRow(currentRowNum);
+			if (row == null || row.getLastCellNum() < 0) {
+				values[currentRowNum] = new String[0];
+				continue;
+			}
+
+			String[] rowValues = new String[row.getLastCellNum()];
+			for (int currentColumnNum = 0; currentColumnNum < rowValues.length; currentColumnNum++) {
+				HSSFCell cell = row.getCell(currentColumnNum);
+				if (cell == null || cell.getCellType() == CellType.BLANK) {
+					rowValues[currentColumnNum] = "";
+					continue;
+				}
+
+				CellValue cellValue = formulaEvaluator.evaluate(cell);
+				if (cellValue != null && cellValue.getCellType() == CellType.ERROR) {
+					errorCells.put(CachedSheet.cellKey(currentRowNum, currentColumnNum), cellValue.getErrorValue());
+					rowValues[currentColumnNum] = null;
+				} else {
+					rowValues[currentColumnNum] = dataFormatter.formatCellValue(formulaEvaluator.evaluateInCell(cell));
+				}
+			}
+			values[currentRowNum] = rowValues;
+		}
+
+		return new CachedSheet(worksheet.getSheetName(), values, errorCells);
+	}
+
+	/**
+	 * Immutable, parsed copy of an Excel workbook
+	 */
+	public static final class CachedWorkbook {
+		private final String fileName;
+		private final long lastModified, length;
+		private final Map<String, CachedSheet> sheets;
+		private final List<String> sheetNames;
+
+		private CachedWorkbook(String fileName, long lastModified, long length, Map<String, CachedSheet> sheets) {
+			this.fileName = fileName;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.sheets = Collections.unmodifiableMap(sheets);
+			this.sheetNames = Collections.unmodifiableList(new ArrayList<String>(sheets.keySet()));
+		}
+
+		private boolean isCurrent(long lastModified, long length) {
+			return this.lastModified == lastModified && this.length == length;
+		}
+
+		/**
+		 * Function to get the names of all the sheets, in workbook order
+		 *
+		 * @return The sheet names
+		 */
+		public List<String> getSheetNames() {
+			return sheetNames;
+		}
+
+		/**
+		 * Function to get the specified sheet
+		 *
+		 * @param sheetName
+		 *            The sheet name
+		 * @return The {@link CachedSheet}, or null if the sheet does not exist
+		 */
+		public CachedSheet getSheet(String sheetName) {
+			return sheets.get(sheetName);
+		}
+
+		/**
+		 * Function to get the specified sheet, failing if it does not exist
+		 *
+		 * @param sheetName
+		 *            The sheet name
+		 * @return The {@link CachedSheet}
+		 */
+		public CachedSheet getExistingSheet(String sheetName) {
+			CachedSheet sheet = sheets.get(sheetName);
+			if (sheet == null) {
+				throw new FrameworkException("The specified sheet \"" + sheetName + "\""
+						+ "does not exist within the workbook \"" + fileName + "\"");
+			}
+			return sheet;
+		}
+	}
+
+	/**
+	 * Immutable, parsed copy of an Excel worksheet. The first row is treated as
+	 * the header row, the first column as the test case ID and the second
+	 * column as the iteration
+	 */
+	public static final class CachedSheet {
+		private static final String SUB_ITERATION_COLUMN = "SubIteration";
+		private static final String ANY_SUB_ITERATION = "";
+
+		private final String sheetName;
+		private final String[][] values;
+		private final Map<Long, Byte> errorCells;
+		private final Map<String, Integer> columnIndex;
+		private final Map<String, int[]> keyRows;
+		private final Map<String, Integer> testDataRows;
+
+		private CachedSheet(String sheetName, String[][] values, Map<Long, Byte> errorCells) {
+			this.sheetName = sheetName;
+			this.values = values;
+			this.errorCells = errorCells;
+			this.columnIndex = buildColumnIndex();
+			this.keyRows = buildKeyRows();
+			this.testDataRows = buildTestDataRows();
+		}
+
+		private static long cellKey(int rowNum, int columnNum) {
+			return ((long) rowNum << 32) | columnNum;
+		}
+
+		private static String testDataKey(String testcase, String iteration, String subIteration) {
+			return testcase + '\u0000' + iteration + '\u0000' + subIteration;
+		}
+
+		private Map<String, Integer> buildColumnIndex() {
+			Map<String, Integer> index = new HashMap<String, Integer>();
+			if (values.length > 0) {
+				String[] header = values[0];
+				for (int currentColumnNum = 0; currentColumnNum < header.length; currentColumnNum++) {
+					if (header[currentColumnNum] != null) {
+						index.putIfAbsent(header[currentColumnNum], currentColumnNum);
+					}
+				}
+			}
+			return index;
+		}
+
+		private Map<String, int[]> buildKeyRows() {
+			Map<String, List<Integer>> rowLists = new HashMap<String, List<Integer>>();
+			for (int currentRowNum = 0; currentRowNum < values.length; currentRowNum++) {
+				String key = rawValue(currentRowNum, 0);
+				if (key != null) {
+					rowLists.computeIfAbsent(key, k -> new ArrayList<Integer>()).add(currentRowNum);
+				}
+			}
+
+			Map<String, int[]> index = new HashMap<String, int[]>();
+			for (Map.Entry<String, List<Integer>> entry : rowLists.entrySet()) {
+				List<Integer> rows = entry.getValue();
+				int[] rowNums = new int[rows.size()];
+				for (int i = 0; i < rowNums.length; i++) {
+					rowNums[i] = rows.get(i);
+				}
+				index.put(entry.getKey(), rowNums);
+			}
+			return index;
+		}
+
+		private Map<String, Integer> buildTestDataRows() {
+			Map<String, Integer> index = new HashMap<String, Integer>();
+			Integer subIterationColumn = columnIndex.get(SUB_ITERATION_COLUMN);
+
+			for (int currentRowNum = 1; currentRowNum < values.length; currentRowNum++) {
+				String testcase = rawValue(currentRowNum, 0);
+				String iteration = rawValue(currentRowNum, 1);
+				if (testcase == null || iteration == null) {
+					continue;
+				}
+				String subIteration = subIterationColumn == null ? "1" : rawValue(currentRowNum, subIterationColumn);
+				if (subIteration != null) {
+					index.putIfAbsent(testDataKey(testcase, iteration, subIteration), currentRowNum);
+				}
+				index.putIfAbsent(testDataKey(testcase, iteration, ANY_SUB_ITERATION), currentRowNum);
+			}
+			return index;
+		}
+
+		private String rawValue(int rowNum, int columnNum) {
+			String[] row = values[rowNum];
+			if (columnNum >= row.length) {
+				return "";
+			}
+			return row[columnNum];
+		}
+
+		/**
+		 * Function to get the sheet name
+		 *
+		 * @return The sheet name
+		 */
+		public String getSheetName() {
+			return sheetName;
+		}
+
+		/**
+		 * Function to get the last row number within the worksheet
+		 *
+		 * @return The last row number within the worksheet
+		 */
+		public int getLastRowNum() {
+			return values.length - 1;
+		}
+
+		/**
+		 * Function to get the number of columns in the header row
+		 *
+		 * @return The number of header columns
+		 */
+		public int getColumnCount() {
+			return values.length > 0 ? values[0].length : 0;
+		}
+
+		/**
+		 * Function to get the number of cells in the specified row
+		 *
+		 * @param rowNum
+		 *            The row number
+		 * @return The number of cells in the row
+		 */
+		public int getCellCount(int rowNum) {
+			return values[rowNum].length;
+		}
+
+		/**
+		 * Function to get the value in the cell identified by the specified row
+		 * and column numbers
+		 *
+		 * @param rowNum
+		 *            The row number of the cell
+		 * @param columnNum
+		 *            The column number of the cell
+		 * @return The value present in the cell
+		 */
+		public String getValue(int rowNum, int columnNum) {
+			String value = rawValue(rowNum, columnNum);
+			if (value == null) {
+				throw new FrameworkException("Error in formula within this cell! " + "Error code: "
+						+ errorCells.get(cellKey(rowNum, columnNum)));
+			}
+			return value;
+		}
+
+		/**
+		 * Function to get the column number of the specified column header
+		 *
+		 * @param columnHeader
+		 *            The column header
+		 * @return The column number (-1 if the header is not found)
+		 */
+		public int getColumnNum(String columnHeader) {
+			Integer columnNum = columnIndex.get(columnHeader);
+			return columnNum == null ? -1 : columnNum;
+		}
+
+		/**
+		 * Function to search for a specified key within a column, and return the
+		 * corresponding row number
+		 *
+		 * @param key
+		 *            The value being searched for
+		 * @param columnNum
+		 *            The column number in which the key should be searched
+		 * @param startRowNum
+		 *            The row number from which the search should start
+		 * @return The row number in which the specified key is found (-1 if the
+		 *         key is not found)
+		 */
+		public int getRowNum(String key, int columnNum, int startRowNum) {
+			if (columnNum == 0) {
+				int[] rowNums = keyRows.get(key);
+				if (rowNums != null) {
+					for (int rowNum : rowNums) {
+						if (rowNum >= startRowNum) {
+							return rowNum;
+						}
+					}
+				}
+				return -1;
+			}
+
+			for (int currentRowNum = startRowNum; currentRowNum < values.length; currentRowNum++) {
+				if (key.equals(getValue(currentRowNum, columnNum))) {
+					return currentRowNum;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Function to search for a specified key within a column, and return the
+		 * corresponding occurence count. Keys are assumed to appear contiguously
+		 *
+		 * @param key
+		 *            The value being searched for
+		 * @param columnNum
+		 *            The column number in which the key should be searched
+		 * @param startRowNum
+		 *            The row number from which the search should start
+		 * @return The occurence count of the specified key
+		 */
+		public int getRowCount(String key, int columnNum, int startRowNum) {
+			int firstRowNum = getRowNum(key, columnNum, startRowNum);
+			if (firstRowNum == -1) {
+				return 0;
+			}
+
+			int rowCount = 0;
+			for (int currentRowNum = firstRowNum; currentRowNum < values.length; currentRowNum++) {
+				if (!key.equals(getValue(currentRowNum, columnNum))) {
+					break;
+				}
+				rowCount++;
+			}
+			return rowCount;
+		}
+
+		/**
+		 * Function to get the row identified by the test case, iteration and
+		 * sub-iteration
+		 *
+		 * @param testcase
+		 *            The ID of the test case
+		 * @param iteration
+		 *            The iteration
+		 * @param subIteration
+		 *            The sub-iteration (0 matches the first row of the iteration)
+		 * @return The row number (-1 if the row is not found)
+		 */
+		public int getTestDataRowNum(String testcase, int iteration, int subIteration) {
+			String subIterationKey = subIteration > 0 ? Integer.toString(subIteration) : ANY_SUB_ITERATION;
+			Integer rowNum = testDataRows.get(testDataKey(testcase, Integer.toString(iteration), subIterationKey));
+			return rowNum == null ? -1 : rowNum;
+		}
+	}
+}
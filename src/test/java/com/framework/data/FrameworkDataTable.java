@@ -15,8 +15,6 @@
  */
 package com.framework.data;
 
-import java.io.IOException;
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -32,6 +30,7 @@ import com.framework.components.Settings;
 public class FrameworkDataTable {
 	private final String datatablePath, datatableName;
 	private String dataReferenceIdentifier = "#";
+	private DatatableOverlay datatableOverlay;
 
 	private String currentTestcase;
 	private String currentTestname;
@@ -66,6 +65,16 @@ public class FrameworkDataTable {
 		this.dataReferenceIdentifier = dataReferenceIdentifier;
 	}
 
+	/**
+	 * Function to set the {@link DatatableOverlay} which receives the values
+	 * written into the datatable, in place of the datatable file itself
+	 * 
+	 * @param datatableOverlay The {@link DatatableOverlay} of the run
+	 */
+	public void setDatatableOverlay(DatatableOverlay datatableOverlay) {
+		this.datatableOverlay = datatableOverlay;
+	}
+
 	/**
 	 * Function to set the variables required to uniquely identify the exact row of
 	 * data under consideration
@@ -77,6 +86,25 @@ public class FrameworkDataTable {
 		this.currentTestcase = currentTestcase;
 		this.currentIteration = currentIteration;
 	}
+	/**
+	 * Function to get a copy of the datatable with its own row cursor, for an
+	 * iteration run in parallel with the others. The copy reads the same
+	 * datatable and shares the common data of this datatable
+	 * 
+	 * @param currentIteration The Iteration to be executed with the copy
+	 * @return The {@link FrameworkDataTable} of the iteration
+	 */
+	public FrameworkDataTable forIteration(int currentIteration) {
+		FrameworkDataTable iterationDataTable = new FrameworkDataTable(datatablePath, datatableName);
+		iterationDataTable.dataReferenceIdentifier = dataReferenceIdentifier;
+		iterationDataTable.datatableOverlay = datatableOverlay;
+		iterationDataTable.currentTestname = currentTestname;
+		iterationDataTable.commonData = commonData;
+		iterationDataTable.csvData = csvData;
+		iterationDataTable.setCurrentRow(currentTestcase, currentIteration);
+		return iterationDataTable;
+	}
+
 	public void setCurrentTestname(String currentTestcase) {
 		this.currentTestname = currentTestcase;
 		
@@ -137,11 +165,14 @@ public class FrameworkDataTable {
 			break;
 		
 		case "EXCEL":
-//			if (dataValue.startsWith(dataReferenceIdentifier)) {
-//			
-//				dataValue = getCommonData(fieldName, dataValue);
-//			
-//			}
+			
+			dataValue = commonData.get(datasheetName).get(fieldName);
+			if (Boolean.parseBoolean(properties.getProperty("ResolveDataReferences", "False"))) {
+				dataValue = getCommonData(fieldName, dataValue);
+			}
+			
+			break;
+			
 		case "JSON":
 		case "ACCESSDB":
 			
@@ -173,34 +204,17 @@ public class FrameworkDataTable {
 	}
 
 	/**
-	 * Function to return the test data value from Common_Testdata sheet
+	 * Function to return the test data value from Common_Testdata sheet, when
+	 * the value read from the datatable is a data reference
 	 * 
 	 * @param fieldName     The name of the field whose value is required
+	 * @param dataValue     The value read from the datatable
 	 * @return The test data present in the field name specified
-	 * @see #putData(String, String, String)
-	 * @see #getExpectedResult(String)
+	 * @see DataReferenceResolver
 	 */
-	@SuppressWarnings("unused")
 	private String getCommonData(String fieldName, String dataValue) {
-		ExcelDataAccess commonDataAccess = new ExcelDataAccess(datatablePath, "Common Testdata");
-		commonDataAccess.setDatasheetName("Common_Testdata");
-
-		String dataReferenceId = dataValue.split(dataReferenceIdentifier)[1];
-
-		int rowNum = commonDataAccess.getRowNum(dataReferenceId, 0, 1); // Start
-		// at
-		// row
-		// 1,
-		// skipping
-		// the
-		// header
-		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The common test data row identified by \"" + dataReferenceId + "\""
-					+ "is not found in the common test data sheet!");
-		}
-
-		return commonDataAccess.getValue(rowNum, fieldName);
+		return DataReferenceResolver.getInstance(datatablePath, dataReferenceIdentifier).resolve(fieldName,
+				dataValue);
 	}
 
 	/**
@@ -210,7 +224,9 @@ public class FrameworkDataTable {
 	 *                      written
 	 * @param fieldName     The name of the field into which the data is to be
 	 *                      written
-	 * @param dataValue     The value to be written into the field specified
+	 * @param dataValue     The value to be written into the field specified. If a
+	 *                      {@link DatatableOverlay} is set, the value is kept by
+	 *                      the overlay and the datatable file is left as is
 	 * @see #getData(String, String)
 	 */
 	public void putData(String datasheetName, String fieldName, String dataValue) {
@@ -219,22 +235,11 @@ public class FrameworkDataTable {
 		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
 		testDataAccess.setDatasheetName(datasheetName);
 
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1); // Start
-		// at
-		// row
-		// 1,
-		// skipping
-		// the
-		// header
-		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the test data sheet \"" + datasheetName + "\"!");
-		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the test data sheet \"" + datasheetName + "\"!");
+		int rowNum = getCurrentRowNum(testDataAccess, "test data sheet \"" + datasheetName + "\"");
+
+		if (datatableOverlay != null) {
+			datatableOverlay.putValue(datatableName, datasheetName, rowNum, fieldName, dataValue);
+			return;
 		}
 
 		synchronized (FrameworkDataTable.class) {
@@ -255,25 +260,44 @@ public class FrameworkDataTable {
 		ExcelDataAccess expectedResultsAccess = new ExcelDataAccess(datatablePath, datatableName);
 		expectedResultsAccess.setDatasheetName("Parametrized_Checkpoints");
 
-		int rowNum = expectedResultsAccess.getRowNum(currentTestcase, 0, 1); // Start
-		// at
-		// row
-		// 1,
-		// skipping
-		// the
-		// header
-		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the parametrized checkpoints sheet!");
+		int rowNum = getCurrentRowNum(expectedResultsAccess, "parametrized checkpoints sheet");
+
+		if (datatableOverlay != null) {
+			String writtenValue = datatableOverlay.getValue(datatableName, "Parametrized_Checkpoints", rowNum,
+					fieldName);
+			if (writtenValue != null) {
+				return writtenValue;
+			}
 		}
-		rowNum = expectedResultsAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the parametrized checkpoints sheet!");
+
+		String expectedResult = expectedResultsAccess.getValue(rowNum, fieldName);
+		if (Boolean.parseBoolean(properties.getProperty("ResolveDataReferences", "False"))) {
+			expectedResult = getCommonData(fieldName, expectedResult);
 		}
+		return expectedResult;
+	}
 
-		return expectedResultsAccess.getValue(rowNum, fieldName);
+	/**
+	 * Function to get the row of the current test case and iteration within the
+	 * datasheet set on the {@link ExcelDataAccess} object
+	 * 
+	 * @param dataAccess       The {@link ExcelDataAccess} object with the
+	 *                         datasheet name set
+	 * @param sheetDescription The description of the sheet used in error messages
+	 * @return The row number of the current test case and iteration
+	 */
+	private int getCurrentRowNum(ExcelDataAccess dataAccess, String sheetDescription) {
+		int rowNum = dataAccess.getTestDataRowNum(currentTestcase, currentIteration, 0);
+		if (rowNum != -1) {
+			return rowNum;
+		}
+
+		if (dataAccess.getRowNum(currentTestcase, 0, 1) == -1) { // Start at row 1, skipping the header row
+			throw new FrameworkException("The test case \"" + currentTestcase + "\""
+					+ "is not found in the " + sheetDescription + "!");
+		}
+		throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
+				+ currentTestcase + "\"" + "is not found in the " + sheetDescription + "!");
 	}
 
 	/**
@@ -290,57 +314,45 @@ public class FrameworkDataTable {
 		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
 		testDataAccess.setDatasheetName(datasheetName);
 
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1); // Start
-		// at
-		// row
-		// 1,
-		// skipping
-		// the
-		// header
-		// row
-		if (rowNum == -1) {
-			throw new FrameworkException("The test case \"" + currentTestcase + "\""
-					+ "is not found in the test data sheet \"" + datasheetName + "\"!");
-		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			throw new FrameworkException("The iteration number \"" + currentIteration + "\"" + "of the test case \""
-					+ currentTestcase + "\"" + "is not found in the test data sheet \"" + datasheetName + "\"!");
-		}
+		int rowNum = getCurrentRowNum(testDataAccess, "test data sheet \"" + datasheetName + "\"");
 
 		Map<String, String> values = testDataAccess.getValuesForSpecificRow(keys, rowNum);
+		if (datatableOverlay != null) {
+			for (String key : keys) {
+				String writtenValue = datatableOverlay.getValue(datatableName, datasheetName, rowNum, key);
+				if (writtenValue != null) {
+					values.put(key, writtenValue);
+				}
+			}
+		}
 
 		return values;
 	}
 	
+	/**
+	 * Function to output a value into the output file of the current test data
+	 * format. The value is buffered by the {@link OutputDataSink} and written
+	 * with the next batched flush
+	 * 
+	 * @param key   The column into which the value is to be written
+	 * @param value The value to be written
+	 * @see OutputDataSink#flushAll()
+	 */
 	public void putData(String key, String value) {
 		
-		
-		switch(properties.getProperty("TestData").toString()) {
+		String testDataFormat = properties.getProperty("TestData").toString();
+		switch(testDataFormat) {
 		
 		case "JSON":
-			JsonData jsData = new JsonData();	
-			jsData.jsonputData(System.getProperty("reportPath"),currentTestcase,key, value);
-			break;
-			
 		case "CSV":
-			CsvReader csvRead = new CsvReader();
-			csvRead.csvPutdata(System.getProperty("reportPath"),currentTestcase,key, value);
-			break;
-			
 		case "ACCESSDB":
-			AccessDatabase accdb = new AccessDatabase();
-			try {
-				accdb.createAccessDB(System.getProperty("reportPath"),currentTestcase,key, value);
-			} catch (IOException | SQLException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-			break;
-			
 		case "EXCEL":
-			ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, currentTestcase);
-			testDataAccess.updateExcel(System.getProperty("reportPath"),currentTestcase,key, value);
+			OutputDataSink.getInstance(System.getProperty("reportPath"), testDataFormat)
+					.putData(currentTestcase, key, value);
+			break;
+
+		default:
+			break;
 			
 		}
 
@@ -167,6 +167,57 @@ public class JsonData {
 
 	}
 
+	/**
+	 * Function to Read and write a batch of JSON values into a output file with
+	 * a single read and write of the output file
+	 * 
+	 * @param reportpath 
+	 * 				The result path to save the JSON file
+	 * @param outputData
+	 * 				The values to update, keyed by test case name and Json object
+	 */
+	@SuppressWarnings("unchecked")
+	public void jsonputData(String reportpath, Map<String, Map<String, String>> outputData) {
+
+		if (outputData.isEmpty()) {
+			return;
+		}
+
+		String outFile = reportpath + Util.getFileSeparator()+"Output.json";
+
+		createOutputFile(outFile);
+
+		JSONParser jsonParser = new JSONParser();
+
+		try (Reader reader = new FileReader(outFile)) {
+
+			JSONObject jsonObject = (JSONObject) jsonParser.parse(reader);
+
+			for (Map.Entry<String, Map<String, String>> testcaseData : outputData.entrySet()) {
+
+				Map<String, String> mp = new HashMap<String, String>();
+
+				if(jsonObject.get(testcaseData.getKey()) != null) {
+
+					mp = (Map<String, String>) jsonObject.get(testcaseData.getKey());
+
+				}
+
+				mp.putAll(testcaseData.getValue());
+
+				jsonObject.put(testcaseData.getKey(), mp);
+			}
+
+			writeJsonValues(jsonObject,outFile);
+
+		} catch (IOException | ParseException e) {
+
+			throw new FrameworkException("Unable to read/write the output into JSON file.. " + e.getMessage());
+
+		}
+
+	}
+
 	/**
 	 * Function to write Json array values in to File writer
 	 * 
@@ -0,0 +1,342 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.framework.components.FrameworkException;
+import com.framework.components.Settings;
+import com.framework.report.Util;
+
+/**
+ * Write-behind buffer for the output values recorded through
+ * {@link FrameworkDataTable#putData(String, String)}. Values are collected in
+ * memory and written into the output file with one batched update per flush,
+ * either when the batch size is reached, on a timer, or at the end of the
+ * test. Every value is also appended to a journal file beside the output file,
+ * so that values not yet flushed are recovered after a crash
+ *
+ * @author Qualitest
+ */
+public class OutputDataSink {
+	private static final String JOURNAL_FILE_NAME = "Output.journal";
+
+	private static final Map<String, OutputDataWriter> writers = new ConcurrentHashMap<String, OutputDataWriter>();
+	private static final Map<String, OutputDataSink> sinks = new ConcurrentHashMap<String, OutputDataSink>();
+	private static final Properties properties = Settings.getInstance();
+	private static ScheduledExecutorService flushScheduler;
+
+	static {
+		registerWriter("EXCEL",
+				(outputPath, outputData) -> new ExcelDataAccess(outputPath, "Output").updateExcel(outputPath, outputData));
+		registerWriter("CSV", (outputPath, outputData) -> new CsvReader().csvPutdata(outputPath, outputData));
+		registerWriter("JSON", (outputPath, outputData) -> new JsonData().jsonputData(outputPath, outputData));
+		registerWriter("ACCESSDB",
+				(outputPath, outputData) -> new AccessDatabase().createAccessDB(outputPath, outputData));
+
+		Runtime.getRuntime().addShutdownHook(new Thread(OutputDataSink::flushAll));
+	}
+
+	private final String outputPath, testDataFormat;
+	private final File journalFile;
+	private final int batchSize;
+	private final Queue<OutputRecord> pendingRecords = new ConcurrentLinkedQueue<OutputRecord>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final Object journalLock = new Object();
+	private Writer journal;
+
+	/**
+	 * Function to register the {@link OutputDataWriter} used for a test data
+	 * format, replacing any writer already registered for it
+	 *
+	 * @param testDataFormat
+	 *            The test data format (EXCEL, CSV, JSON, ACCESSDB...)
+	 * @param writer
+	 *            The {@link OutputDataWriter} to be used
+	 */
+	public static void registerWriter(String testDataFormat, OutputDataWriter writer) {
+		writers.put(testDataFormat.toUpperCase(), writer);
+	}
+
+	/**
+	 * Function to get the sink for the specified output folder and test data
+	 * format
+	 *
+	 * @param outputPath
+	 *            The folder in which the output file is stored
+	 * @param testDataFormat
+	 *            The test data format (EXCEL, CSV, JSON, ACCESSDB...)
+	 * @return The {@link OutputDataSink}
+	 */
+	public static OutputDataSink getInstance(String outputPath, String testDataFormat) {
+		String format = testDataFormat.toUpperCase();
+		if (!writers.containsKey(format)) {
+			throw new FrameworkException("No output data writer is registered for the test data format " + format);
+		}
+
+		return sinks.computeIfAbsent(format + Util.getFileSeparator() + outputPath,
+				key -> new OutputDataSink(outputPath, format));
+	}
+
+	/**
+	 * Function to flush every sink created so far
+	 */
+	public static void flushAll() {
+		for (OutputDataSink sink : sinks.values()) {
+			try {
+				sink.flush();
+			} catch (FrameworkException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private OutputDataSink(String outputPath, String testDataFormat) {
+		this.outputPath = outputPath;
+		this.testDataFormat = testDataFormat;
+		this.journalFile = new File(outputPath + Util.getFileSeparator() + JOURNAL_FILE_NAME);
+
+		if (Boolean.parseBoolean(properties.getProperty("OutputDataBuffering", "True"))) {
+			this.batchSize = Integer.parseInt(properties.getProperty("OutputDataFlushBatchSize", "100"));
+		} else {
+			this.batchSize = 1;
+		}
+
+		recoverJournal();
+		startFlushScheduler();
+	}
+
+	/**
+	 * Function to start the timer which periodically flushes all the sinks
+	 */
+	private static synchronized void startFlushScheduler() {
+		if (flushScheduler != null) {
+			return;
+		}
+
+		long flushInterval = Long.parseLong(properties.getProperty("OutputDataFlushIntervalSeconds", "30"));
+		flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "OutputDataSink-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+		flushScheduler.scheduleWithFixedDelay(OutputDataSink::flushAll, flushInterval, flushInterval,
+				TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Function to record an output value. The value is journaled immediately
+	 * and written into the output file with the next flush
+	 *
+	 * @param currentTestcase
+	 *            The current test case name
+	 * @param columnName
+	 *            The column name
+	 * @param value
+	 *            The value to be written
+	 */
+	public void putData(String currentTestcase, String columnName, String value) {
+		OutputRecord record = new OutputRecord(currentTestcase, columnName, value);
+
+		synchronized (journalLock) {
+			appendToJournal(record);
+			pendingRecords.add(record);
+		}
+
+		if (pendingCount.incrementAndGet() >= batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Function to write all the pending values into the output file with a
+	 * single update, and truncate the journal once they are written
+	 */
+	public void flush() {
+		synchronized (journalLock) {
+			List<OutputRecord> batch = new ArrayList<OutputRecord>();
+			OutputRecord record;
+			while ((record = pendingRecords.poll()) != null) {
+				batch.add(record);
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+
+			Map<String, Map<String, String>> outputData = new LinkedHashMap<String, Map<String, String>>();
+			for (OutputRecord outputRecord : batch) {
+				outputData.computeIfAbsent(outputRecord.testcase, key -> new LinkedHashMap<String, String>())
+						.put(outputRecord.columnName, outputRecord.value);
+			}
+
+			try {
+				writers.get(testDataFormat).writeOutputData(outputPath, outputData);
+			} catch (Exception e) {
+				// Keep the values (and the journal) so that the next flush retries them
+				pendingRecords.addAll(batch);
+				throw new FrameworkException("Unable to flush the output data into " + outputPath + ": "
+						+ e.getMessage());
+			}
+
+			pendingCount.addAndGet(-batch.size());
+			truncateJournal();
+		}
+	}
+
+	/**
+	 * Function to load the values left in the journal by a previous run which
+	 * did not flush them
+	 */
+	private void recoverJournal() {
+		if (!journalFile.exists()) {
+			return;
+		}
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(journalFile))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				OutputRecord record = OutputRecord.fromJournalLine(line);
+				if (record != null) {
+					pendingRecords.add(record);
+					pendingCount.incrementAndGet();
+				}
+			}
+		} catch (IOException e) {
+			throw new FrameworkException("Unable to recover the output data journal " + journalFile + ". "
+					+ e.getMessage());
+		}
+	}
+
+	private void appendToJournal(OutputRecord record) {
+		try {
+			if (journal == null) {
+				journal = new FileWriter(journalFile, true);
+			}
+			journal.write(record.toJournalLine());
+			journal.write('\n');
+			journal.flush();
+		} catch (IOException e) {
+			throw new FrameworkException("Unable to write into the output data journal " + journalFile + ". "
+					+ e.getMessage());
+		}
+	}
+
+	private void truncateJournal() {
+		try {
+			if (journal != null) {
+				journal.close();
+				journal = null;
+			}
+			if (journalFile.exists() && !journalFile.delete()) {
+				new FileWriter(journalFile, false).close();
+			}
+		} catch (IOException e) {
+			throw new FrameworkException("Unable to truncate the output data journal " + journalFile + ". "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * A single (test case, column, value) output triple
+	 */
+	private static final class OutputRecord {
+		private final String testcase, columnName, value;
+
+		private OutputRecord(String testcase, String columnName, String value) {
+			this.testcase = testcase;
+			this.columnName = columnName;
+			this.value = value == null ? "" : value;
+		}
+
+		private String toJournalLine() {
+			return escape(testcase) + '\t' + escape(columnName) + '\t' + escape(value);
+		}
+
+		private static OutputRecord fromJournalLine(String line) {
+			String[] fields = line.split("\t", -1);
+			if (fields.length != 3) {
+				return null; // Partially written line of a crashed run
+			}
+			return new OutputRecord(unescape(fields[0]), unescape(fields[1]), unescape(fields[2]));
+		}
+
+		private static String escape(String text) {
+			StringBuilder escaped = new StringBuilder(text.length());
+			for (char character : text.toCharArray()) {
+				switch (character) {
+				case '\\':
+					escaped.append("\\\\");
+					break;
+				case '\t':
+					escaped.append("\\t");
+					break;
+				case '\n':
+					escaped.append("\\n");
+					break;
+				case '\r':
+					escaped.append("\\r");
+					break;
+				default:
+					escaped.append(character);
+				}
+			}
+			return escaped.toString();
+		}
+
+		private static String unescape(String text) {
+			StringBuilder unescaped = new StringBuilder(text.length());
+			for (int i = 0; i < text.length(); i++) {
+				char character = text.charAt(i);
+				if (character == '\\' && i + 1 < text.length()) {
+					char next = text.charAt(++i);
+					switch (next) {
+					case 't':
+						unescaped.append('\t');
+						break;
+					case 'n':
+						unescaped.append('\n');
+						break;
+					case 'r':
+						unescaped.append('\r');
+						break;
+					default:
+						unescaped.append(next);
+					}
+				} else {
+					unescaped.append(character);
+				}
+			}
+			return unescaped.toString();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.util.Map;
+
+/**
+ * Interface representing a writer which persists a batch of output values
+ * into an output file of a particular test data format
+ *
+ * @author Qualitest
+ */
+@FunctionalInterface
+public interface OutputDataWriter {
+	/**
+	 * Function to write a batch of output values with a single update of the
+	 * output file
+	 *
+	 * @param outputPath
+	 *            The folder in which the output file is stored
+	 * @param outputData
+	 *            The values to be written, keyed by test case name and column
+	 *            name (in the order they were recorded)
+	 * @throws Exception
+	 *             If the output file could not be updated
+	 */
+	public void writeOutputData(String outputPath, Map<String, Map<String, String>> outputData) throws Exception;
+}
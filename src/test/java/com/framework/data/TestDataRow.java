@@ -0,0 +1,103 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Immutable row of test data, storing the cell values by column index against
+ * a shared {@link TestDataSchema}, rather than as a map carrying its own copy
+ * of every column name
+ *
+ * @author Qualitest
+ */
+public final class TestDataRow {
+	private final TestDataSchema schema;
+	private final String[] values;
+
+	/**
+	 * Constructor to initialize the {@link TestDataRow} object
+	 *
+	 * @param schema
+	 *            The {@link TestDataSchema} of the sheet
+	 * @param values
+	 *            The cell values, in column order (the array is not copied)
+	 */
+	public TestDataRow(TestDataSchema schema, String[] values) {
+		this.schema = schema;
+		this.values = values;
+		schema.internValues(values);
+	}
+
+	/**
+	 * Function to get the {@link TestDataSchema} of the row
+	 *
+	 * @return The {@link TestDataSchema}
+	 */
+	public TestDataSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * Function to get the value of the specified column
+	 *
+	 * @param columnIndex
+	 *            The column index
+	 * @return The value ("" if the cell is empty)
+	 */
+	public String get(int columnIndex) {
+		if (columnIndex < 0 || columnIndex >= values.length || values[columnIndex] == null) {
+			return "";
+		}
+		return values[columnIndex];
+	}
+
+	/**
+	 * Function to get the value of the specified column
+	 *
+	 * @param columnName
+	 *            The column name
+	 * @return The value, or null if the column is not present in the sheet
+	 */
+	public String get(String columnName) {
+		int columnIndex = schema.getColumnIndex(columnName);
+		return columnIndex == -1 ? null : get(columnIndex);
+	}
+
+	/**
+	 * Function to check whether the specified column is present in the sheet
+	 *
+	 * @param columnName
+	 *            The column name
+	 * @return true if the column is present
+	 */
+	public boolean containsColumn(String columnName) {
+		return schema.getColumnIndex(columnName) != -1;
+	}
+
+	/**
+	 * Function to copy the row into a map of column name to value
+	 *
+	 * @return The values, keyed by column name
+	 */
+	public LinkedHashMap<String, String> toMap() {
+		LinkedHashMap<String, String> map = new LinkedHashMap<String, String>();
+		for (int i = 0; i < schema.getColumnCount(); i++) {
+			map.put(schema.getColumnNames().get(i), get(i));
+		}
+		return map;
+	}
+}
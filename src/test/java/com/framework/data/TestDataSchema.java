@@ -0,0 +1,144 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable column layout of a test data sheet, mapping each column name to
+ * its index. Schemas are interned, so that all the rows read from a sheet
+ * share a single instance across scenarios. Each column also keeps a small
+ * dictionary of its values, so that the rows of low-cardinality columns
+ * (flags, browsers, environments...) share their value strings
+ *
+ * @author Qualitest
+ */
+public final class TestDataSchema {
+	private static final Map<List<String>, TestDataSchema> schemas = new ConcurrentHashMap<List<String>, TestDataSchema>();
+	private static final int MAX_DICTIONARY_SIZE = 256;
+
+	private final String sheetName;
+	private final List<String> columnNames;
+	private final Map<String, Integer> columnIndex;
+	private final Map<String, String>[] dictionaries;
+
+	@SuppressWarnings("unchecked")
+	private TestDataSchema(String sheetName, List<String> columnNames) {
+		this.sheetName = sheetName;
+		this.columnNames = Collections.unmodifiableList(new ArrayList<String>(columnNames));
+
+		Map<String, Integer> index = new HashMap<String, Integer>();
+		for (int i = 0; i < columnNames.size(); i++) {
+			index.putIfAbsent(columnNames.get(i), i);
+		}
+		this.columnIndex = index;
+
+		this.dictionaries = new Map[columnNames.size()];
+		for (int i = 0; i < dictionaries.length; i++) {
+			dictionaries[i] = new ConcurrentHashMap<String, String>();
+		}
+	}
+
+	/**
+	 * Function to get the interned schema for the specified sheet and columns
+	 *
+	 * @param sheetName
+	 *            The name of the sheet
+	 * @param columnNames
+	 *            The column names, in column order
+	 * @return The {@link TestDataSchema}
+	 */
+	public static TestDataSchema of(String sheetName, List<String> columnNames) {
+		List<String> key = new ArrayList<String>(columnNames.size() + 1);
+		key.add(sheetName);
+		key.addAll(columnNames);
+
+		return schemas.computeIfAbsent(key, k -> new TestDataSchema(sheetName, columnNames));
+	}
+
+	/**
+	 * Function to get the name of the sheet
+	 *
+	 * @return The sheet name
+	 */
+	public String getSheetName() {
+		return sheetName;
+	}
+
+	/**
+	 * Function to get the column names, in column order
+	 *
+	 * @return The column names
+	 */
+	public List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * Function to get the number of columns
+	 *
+	 * @return The number of columns
+	 */
+	public int getColumnCount() {
+		return columnNames.size();
+	}
+
+	/**
+	 * Function to get the index of the specified column
+	 *
+	 * @param columnName
+	 *            The column name
+	 * @return The column index (-1 if the column is not present)
+	 */
+	public int getColumnIndex(String columnName) {
+		Integer index = columnIndex.get(columnName);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Function to replace the values of a row with the shared instances held
+	 * in the column dictionaries. A column stops being dictionary-encoded once
+	 * it holds more than a few hundred distinct values
+	 *
+	 * @param values
+	 *            The cell values, in column order (updated in place)
+	 */
+	void internValues(String[] values) {
+		int columnCount = Math.min(values.length, dictionaries.length);
+		for (int i = 0; i < columnCount; i++) {
+			String value = values[i];
+			if (value == null) {
+				continue;
+			}
+
+			Map<String, String> dictionary = dictionaries[i];
+			String sharedValue = dictionary.get(value);
+			if (sharedValue != null) {
+				values[i] = sharedValue;
+			} else if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+				sharedValue = dictionary.putIfAbsent(value, value);
+				if (sharedValue != null) {
+					values[i] = sharedValue;
+				}
+			}
+		}
+	}
+}
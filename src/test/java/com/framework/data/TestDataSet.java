@@ -0,0 +1,198 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable test data of a single test case, holding its rows of every sheet
+ * as {@link TestDataRow} objects
+ *
+ * @author Qualitest
+ */
+public final class TestDataSet {
+	private static final String SUB_ITERATION_COLUMN = "SubIteration";
+	private static final String DEFAULT_SUB_ITERATION = "1";
+
+	private final String testcase;
+	private final Map<String, Sheet> sheets;
+
+	private TestDataSet(String testcase, Map<String, Sheet> sheets) {
+		this.testcase = testcase;
+		this.sheets = Collections.unmodifiableMap(sheets);
+	}
+
+	/**
+	 * Function to create the {@link TestDataSet} from the rows of each sheet
+	 *
+	 * @param testcase
+	 *            The test case name
+	 * @param sheetRows
+	 *            The rows of the test case, keyed by sheet name
+	 * @return The {@link TestDataSet}
+	 */
+	public static TestDataSet fromRows(String testcase, Map<String, List<TestDataRow>> sheetRows) {
+		Map<String, Sheet> sheets = new HashMap<String, Sheet>();
+		for (Map.Entry<String, List<TestDataRow>> sheetRow : sheetRows.entrySet()) {
+			sheets.put(sheetRow.getKey(), new Sheet(sheetRow.getValue()));
+		}
+		return new TestDataSet(testcase, sheets);
+	}
+
+	/**
+	 * Function to create the {@link TestDataSet} from a single row of values
+	 * per sheet, as read from the JSON, CSV and Access DB test data
+	 *
+	 * @param testcase
+	 *            The test case name
+	 * @param sheetValues
+	 *            The values of each sheet keyed by column name, keyed by sheet
+	 *            name
+	 * @return The {@link TestDataSet}
+	 */
+	public static TestDataSet fromValues(String testcase, Map<String, ? extends Map<String, String>> sheetValues) {
+		Map<String, Sheet> sheets = new HashMap<String, Sheet>();
+		for (Map.Entry<String, ? extends Map<String, String>> sheetValue : sheetValues.entrySet()) {
+			if (sheetValue.getValue() == null) {
+				continue;
+			}
+
+			List<String> columnNames = new ArrayList<String>(sheetValue.getValue().keySet());
+			String[] values = new String[columnNames.size()];
+			for (int i = 0; i < values.length; i++) {
+				// JSON numbers and booleans arrive in the map uncast
+				Object value = sheetValue.getValue().get(columnNames.get(i));
+				values[i] = value == null ? null : value.toString();
+			}
+
+			TestDataRow row = new TestDataRow(TestDataSchema.of(sheetValue.getKey(), columnNames), values);
+			sheets.put(sheetValue.getKey(), new Sheet(Collections.singletonList(row)));
+		}
+		return new TestDataSet(testcase, sheets);
+	}
+
+	/**
+	 * Function to get the test case name
+	 *
+	 * @return The test case name
+	 */
+	public String getTestcase() {
+		return testcase;
+	}
+
+	/**
+	 * Function to get the data of the specified sheet. The returned
+	 * {@link Sheet} may be held by the caller for repeated lookups
+	 *
+	 * @param sheetName
+	 *            The name of the sheet
+	 * @return The {@link Sheet}, or null if the test case has no data in it
+	 */
+	public Sheet getSheet(String sheetName) {
+		return sheets.get(sheetName);
+	}
+
+	/**
+	 * Function to get a value of the first sub-iteration of the test case
+	 *
+	 * @param sheetName
+	 *            The name of the sheet
+	 * @param key
+	 *            The column name
+	 * @return The value, or null if it is not present
+	 */
+	public String getData(String sheetName, String key) {
+		return getData(sheetName, DEFAULT_SUB_ITERATION, key);
+	}
+
+	/**
+	 * Function to get a value of the specified sub-iteration of the test case
+	 *
+	 * @param sheetName
+	 *            The name of the sheet
+	 * @param subIteration
+	 *            The sub-iteration, as found in the SubIteration column
+	 * @param key
+	 *            The column name
+	 * @return The value, or null if it is not present
+	 */
+	public String getData(String sheetName, String subIteration, String key) {
+		Sheet sheet = sheets.get(sheetName);
+		return sheet == null ? null : sheet.getData(subIteration, key);
+	}
+
+	/**
+	 * Rows of the test case within a single sheet
+	 */
+	public static final class Sheet {
+		private final TestDataRow[] rows;
+		private final String[] subIterations;
+
+		private Sheet(List<TestDataRow> rows) {
+			this.rows = rows.toArray(new TestDataRow[0]);
+			this.subIterations = new String[this.rows.length];
+			for (int i = 0; i < this.rows.length; i++) {
+				String subIteration = this.rows[i].get(SUB_ITERATION_COLUMN);
+				subIterations[i] = subIteration == null ? DEFAULT_SUB_ITERATION : subIteration;
+			}
+		}
+
+		/**
+		 * Function to get the row of the specified sub-iteration
+		 *
+		 * @param subIteration
+		 *            The sub-iteration, as found in the SubIteration column
+		 * @return The {@link TestDataRow}, or null if it is not present
+		 */
+		public TestDataRow getRow(String subIteration) {
+			// The last matching row wins, as it did with the keyed maps
+			for (int i = rows.length - 1; i >= 0; i--) {
+				if (subIterations[i].equals(subIteration)) {
+					return rows[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Function to get all the rows of the test case within the sheet
+		 *
+		 * @return The rows, in sheet order
+		 */
+		public List<TestDataRow> getRows() {
+			return Collections.unmodifiableList(Arrays.asList(rows));
+		}
+
+		/**
+		 * Function to get a value of the specified sub-iteration
+		 *
+		 * @param subIteration
+		 *            The sub-iteration, as found in the SubIteration column
+		 * @param key
+		 *            The column name
+		 * @return The value, or null if it is not present
+		 */
+		public String getData(String subIteration, String key) {
+			TestDataRow row = getRow(subIteration);
+			return row == null ? null : row.get(key);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.framework.playwright;
 
+import java.nio.file.Path;
 import java.util.Properties;
 import com.framework.components.FrameworkException;
 import com.framework.components.Settings;
@@ -12,8 +13,11 @@ public class PlaywrightDriverFactory {
 	private static Properties properties = Settings.getInstance();
 	
 	public static Browser createBrowserInstance(SeleniumTestParameters testParameters) {
+		return createBrowserInstance(Playwright.create(), testParameters);
+	}
+	
+	public static Browser createBrowserInstance(Playwright playwright, SeleniumTestParameters testParameters) {
 		Browser browser = null;
-		Playwright playwright = Playwright.create();
 		
 		try {
 			switch (testParameters.getBrowser()) {
@@ -43,9 +47,24 @@ public class PlaywrightDriverFactory {
 	}
 	
 	public static BrowserContext createBrowserContext(Browser browser) {
+		return createBrowserContext(browser, null);
+	}
+	
+	/**
+	 * Function to create an isolated browser context, optionally seeded with
+	 * the cookies and local storage saved from a previous context
+	 * 
+	 * @param browser
+	 * @param storageState The storage state file (null for an empty context)
+	 * @return The {@link BrowserContext}
+	 */
+	public static BrowserContext createBrowserContext(Browser browser, Path storageState) {
 		try {
 			Browser.NewContextOptions contextOptions = new Browser.NewContextOptions();
 			contextOptions.setViewportSize(1920, 1080);
+			if (storageState != null) {
+				contextOptions.setStorageStatePath(storageState);
+			}
 			return browser.newContext(contextOptions);
 		} catch (Exception e) {
 			throw new FrameworkException("Error creating browser context: " + e.getMessage());
@@ -0,0 +1,200 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.playwright;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.framework.components.FrameworkException;
+import com.framework.components.FrameworkParameters;
+import com.framework.components.Settings;
+import com.framework.report.Util;
+import com.microsoft.playwright.BrowserContext;
+
+/**
+ * Singleton cache of the authenticated storage state (cookies and local
+ * storage) of the Playwright login flows, keyed by user, role and environment.
+ * The storage state is saved on disk once per key and reused by the browser
+ * contexts of the later scenarios until it expires or is invalidated
+ *
+ * @author Qualitest
+ */
+public class StorageStateCache {
+	private static final Logger log = LogManager.getLogger(StorageStateCache.class);
+	private static final StorageStateCache STORAGE_STATE_CACHE = new StorageStateCache();
+
+	private static final String CACHE_DIRECTORY_NAME = "storage-state";
+
+	private final Properties properties = Settings.getInstance();
+	private final Map<String, ReentrantLock> loginLocks = new ConcurrentHashMap<String, ReentrantLock>();
+
+	private StorageStateCache() {
+		// To prevent external instantiation of this class
+	}
+
+	/**
+	 * Function to return the singleton instance of the
+	 * {@link StorageStateCache} object
+	 *
+	 * @return Instance of the {@link StorageStateCache} object
+	 */
+	public static StorageStateCache getInstance() {
+		return STORAGE_STATE_CACHE;
+	}
+
+	/**
+	 * Function to check whether the caching of the storage state is enabled
+	 *
+	 * @return true if the login flows are to reuse the cached storage state
+	 */
+	public boolean isEnabled() {
+		return Boolean.parseBoolean(properties.getProperty("PlaywrightStorageStateCache", "False"));
+	}
+
+	/**
+	 * Function to get the key of the storage state of a login
+	 *
+	 * @param user
+	 *            The user name
+	 * @param role
+	 *            The role of the user (may be null)
+	 * @param environment
+	 *            The environment of the application under test
+	 * @return The cache key
+	 */
+	public static String getCacheKey(String user, String role, String environment) {
+		return user + "_" + (role == null || role.isEmpty() ? "default" : role) + "_" + environment;
+	}
+
+	private Path getStateFile(String cacheKey) {
+		return Paths.get(FrameworkParameters.getInstance().getRelativePath() + Util.getFileSeparator()
+				+ CACHE_DIRECTORY_NAME, cacheKey.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+	}
+
+	private Path getLandingUrlFile(String cacheKey) {
+		Path stateFile = getStateFile(cacheKey);
+		return stateFile.resolveSibling(stateFile.getFileName().toString().replace(".json", ".url"));
+	}
+
+	private long getTimeToLiveMillis() {
+		return TimeUnit.MINUTES.toMillis(Long.parseLong(properties.getProperty("PlaywrightStorageStateTTL", "30")));
+	}
+
+	/**
+	 * Function to get the lock which serializes the logins of the same key, so
+	 * that the concurrent scenarios of a user log in only once
+	 *
+	 * @param cacheKey
+	 *            The cache key
+	 * @return The {@link ReentrantLock} of the key
+	 */
+	public ReentrantLock getLoginLock(String cacheKey) {
+		return loginLocks.computeIfAbsent(cacheKey, key -> new ReentrantLock());
+	}
+
+	/**
+	 * Function to get the cached storage state of a login
+	 *
+	 * @param cacheKey
+	 *            The cache key
+	 * @return The storage state file, or null if it is absent or expired
+	 */
+	public Path getStorageState(String cacheKey) {
+		Path stateFile = getStateFile(cacheKey);
+		try {
+			if (!Files.exists(stateFile) || !Files.exists(getLandingUrlFile(cacheKey))) {
+				return null;
+			}
+			long age = System.currentTimeMillis() - Files.getLastModifiedTime(stateFile).toMillis();
+			if (age > getTimeToLiveMillis()) {
+				invalidate(cacheKey);
+				return null;
+			}
+			return stateFile;
+		} catch (IOException e) {
+			log.warn("Unable to read the cached storage state of " + cacheKey + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Function to get the URL the application landed on after the cached login
+	 *
+	 * @param cacheKey
+	 *            The cache key
+	 * @return The landing URL
+	 */
+	public String getLandingUrl(String cacheKey) {
+		try {
+			return new String(Files.readAllBytes(getLandingUrlFile(cacheKey)), StandardCharsets.UTF_8).trim();
+		} catch (IOException e) {
+			throw new FrameworkException("Error while reading the cached landing URL of " + cacheKey);
+		}
+	}
+
+	/**
+	 * Function to save the storage state of a logged in browser context
+	 *
+	 * @param cacheKey
+	 *            The cache key
+	 * @param context
+	 *            The logged in {@link BrowserContext}
+	 * @param landingUrl
+	 *            The URL the application landed on after the login
+	 */
+	public void saveStorageState(String cacheKey, BrowserContext context, String landingUrl) {
+		Path stateFile = getStateFile(cacheKey);
+		Path temporaryFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(stateFile.getParent());
+			Files.write(getLandingUrlFile(cacheKey), landingUrl.getBytes(StandardCharsets.UTF_8));
+			context.storageState(new BrowserContext.StorageStateOptions().setPath(temporaryFile));
+			// Readers on other threads never see a partially written state
+			Files.move(temporaryFile, stateFile, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Unable to cache the storage state of " + cacheKey + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Function to discard the cached storage state of a login, when the
+	 * application no longer accepts it
+	 *
+	 * @param cacheKey
+	 *            The cache key
+	 */
+	public void invalidate(String cacheKey) {
+		try {
+			Files.deleteIfExists(getStateFile(cacheKey));
+			Files.deleteIfExists(getLandingUrlFile(cacheKey));
+		} catch (IOException e) {
+			log.warn("Unable to invalidate the cached storage state of " + cacheKey + ": " + e.getMessage());
+		}
+	}
+}
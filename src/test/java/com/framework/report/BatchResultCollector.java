@@ -0,0 +1,195 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.report;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.framework.components.TestParameters;
+
+/**
+ * Collects the results of the test instances of a batch execution from any
+ * number of threads without locking. The results are counted as they arrive,
+ * and queued for a single writer thread which adds them to the result summary
+ *
+ * @author Qualitest
+ */
+public class BatchResultCollector {
+	private final LongAdder passedCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder abortedCount = new LongAdder();
+
+	private final Queue<TestResult> pendingResults = new ConcurrentLinkedQueue<TestResult>();
+	private final ResultWriter resultWriter;
+	private final Thread writerThread;
+	private volatile boolean closed;
+
+	/**
+	 * Interface representing the destination of the collected results
+	 */
+	@FunctionalInterface
+	public interface ResultWriter {
+		/**
+		 * Function to write the result of a test instance
+		 *
+		 * @param testParameters
+		 *            The {@link TestParameters} of the test instance
+		 * @param testReportName
+		 *            The name of the test report file
+		 * @param executionTime
+		 *            The time taken to execute the test instance
+		 * @param testStatus
+		 *            The Pass/Fail status of the test instance
+		 */
+		public void writeResult(TestParameters testParameters, String testReportName, String executionTime,
+				String testStatus);
+	}
+
+	/**
+	 * Constructor to initialize the collector and start its writer thread
+	 *
+	 * @param resultWriter
+	 *            The {@link ResultWriter} which receives the results, always
+	 *            from the same thread
+	 */
+	public BatchResultCollector(ResultWriter resultWriter) {
+		this.resultWriter = resultWriter;
+		this.writerThread = new Thread(this::writePendingResults, "ResultSummary-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Function to add the result of a test instance
+	 *
+	 * @param testParameters
+	 *            The {@link TestParameters} of the test instance
+	 * @param testReportName
+	 *            The name of the test report file
+	 * @param executionTime
+	 *            The time taken to execute the test instance
+	 * @param testStatus
+	 *            The Pass/Fail status of the test instance
+	 */
+	public void addResult(TestParameters testParameters, String testReportName, String executionTime,
+			String testStatus) {
+		if ("Failed".equalsIgnoreCase(testStatus)) {
+			failedCount.increment();
+		} else if ("Aborted".equalsIgnoreCase(testStatus)) {
+			abortedCount.increment();
+		} else {
+			passedCount.increment();
+		}
+
+		pendingResults.add(new TestResult(testParameters, testReportName, executionTime, testStatus));
+		if (closed) {
+			// The writer thread is gone, so write the late result here
+			drainPendingResults();
+		} else {
+			LockSupport.unpark(writerThread);
+		}
+	}
+
+	private void writePendingResults() {
+		while (!closed) {
+			drainPendingResults();
+			LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+		}
+		drainPendingResults();
+	}
+
+	// Only contended by results added after close()
+	private synchronized void drainPendingResults() {
+		TestResult result;
+		while ((result = pendingResults.poll()) != null) {
+			try {
+				resultWriter.writeResult(result.testParameters, result.testReportName, result.executionTime,
+						result.testStatus);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Function to stop the writer thread, once all the queued results are
+	 * written
+	 */
+	public void close() {
+		closed = true;
+		LockSupport.unpark(writerThread);
+		try {
+			writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Function to get the number of passed test instances
+	 *
+	 * @return The number of passed test instances
+	 */
+	public long getPassedCount() {
+		return passedCount.sum();
+	}
+
+	/**
+	 * Function to get the number of failed test instances
+	 *
+	 * @return The number of failed test instances
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * Function to get the number of aborted test instances
+	 *
+	 * @return The number of aborted test instances
+	 */
+	public long getAbortedCount() {
+		return abortedCount.sum();
+	}
+
+	/**
+	 * Function to get the overall test batch status
+	 *
+	 * @return The test batch status (0 = Success, 1 = Failure)
+	 */
+	public int getTestBatchStatus() {
+		return getFailedCount() + getAbortedCount() > 0 ? 1 : 0;
+	}
+
+	/**
+	 * The result of a single test instance, as queued for the writer thread
+	 */
+	private static final class TestResult {
+		private final TestParameters testParameters;
+		private final String testReportName, executionTime, testStatus;
+
+		private TestResult(TestParameters testParameters, String testReportName, String executionTime,
+				String testStatus) {
+			this.testParameters = testParameters;
+			this.testReportName = testReportName;
+			this.executionTime = executionTime;
+			this.testStatus = testStatus;
+		}
+	}
+}
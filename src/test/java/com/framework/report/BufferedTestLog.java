@@ -0,0 +1,141 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.framework.components.TestParameters;
+
+/**
+ * {@link ReportType} which keeps the test log of an iteration run in parallel
+ * with the others in memory, so that it can be written to the test log of the
+ * test case once the iteration is over, in iteration order
+ * 
+ * @author Qualitest
+ */
+class BufferedTestLog implements ReportType {
+	private final ReportType testLog;
+	private final List<Consumer<ReportType>> entries = new ArrayList<Consumer<ReportType>>();
+
+	/**
+	 * Constructor to initialize the buffer of a test log
+	 * 
+	 * @param testLog
+	 *            The {@link ReportType} the entries are written to on replay
+	 */
+	BufferedTestLog(ReportType testLog) {
+		this.testLog = testLog;
+	}
+
+	/**
+	 * Function to write the buffered entries to the test log
+	 */
+	void replay() {
+		for (Consumer<ReportType> entry : entries) {
+			entry.accept(testLog);
+		}
+		entries.clear();
+	}
+
+	@Override
+	public void initializeTestLog() {
+		// The test log is initialized by the report of the test case
+	}
+
+	@Override
+	public void addTestLogHeading(String heading) {
+		entries.add(reportType -> reportType.addTestLogHeading(heading));
+	}
+
+	@Override
+	public void addTestLogSubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		entries.add(reportType -> reportType.addTestLogSubHeading(subHeading1, subHeading2, subHeading3, subHeading4));
+	}
+
+	@Override
+	public void addTestLogTableHeadings() {
+		entries.add(reportType -> reportType.addTestLogTableHeadings());
+	}
+
+	@Override
+	public void addTestLogSection(String section) {
+		entries.add(reportType -> reportType.addTestLogSection(section));
+	}
+
+	@Override
+	public void addTestLogSubSection(String subSection) {
+		entries.add(reportType -> reportType.addTestLogSubSection(subSection));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+			String screenshotName) {
+		entries.add(reportType -> reportType.updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+				screenshotName));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String endPoint, Object expectedValue, Object actualValue,
+			Status stepStatus) {
+		entries.add(reportType -> reportType.updateTestLog(stepNumber, endPoint, expectedValue, actualValue,
+				stepStatus));
+	}
+
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus) {
+		entries.add(reportType -> reportType.updateTestLog(stepNumber, stepName, stepDescription, stepStatus));
+	}
+
+	@Override
+	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
+		// The footer is added by the report of the test case, with the steps of all the iterations
+	}
+
+	@Override
+	public void initializeResultSummary() {
+		// The result summary is written by the report of the test case
+	}
+
+	@Override
+	public void addResultSummaryHeading(String heading) {
+		// The result summary is written by the report of the test case
+	}
+
+	@Override
+	public void addResultSummarySubHeading(String subHeading1, String subHeading2, String subHeading3,
+			String subHeading4) {
+		// The result summary is written by the report of the test case
+	}
+
+	@Override
+	public void addResultSummaryTableHeadings() {
+		// The result summary is written by the report of the test case
+	}
+
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName, String executionTime,
+			String testStatus) {
+		// The result summary is written by the report of the test case
+	}
+
+	@Override
+	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {
+		// The result summary is written by the report of the test case
+	}
+}
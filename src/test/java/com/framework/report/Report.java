@@ -58,6 +58,7 @@ public class Report {
 	private List<ReportType> reportTypes = new ArrayList<ReportType>();
 	private String testStatus;
 	private String failureDescription;
+	private String screenshotNamePrefix;
 
 	/**
 	 * Constructor to initialize the Report
@@ -329,7 +330,7 @@ public class Report {
 				|| testParameters.getExecutionMode().toString().equalsIgnoreCase("API"))
 			rpt.updateExtentReport(stepName, stepDescription, stepStatus.toString());
 		else {
-			screenshotName = reportSettings.getReportName() + "_" + WebReusableComponents
+			screenshotName = getScreenshotNamePrefix() + "_" + WebReusableComponents
 					.getCurrentFormattedTime(reportSettings.getDateFormatString()).replace(" ", "_").replace(":", "-")
 					+ "_" + stepName.replace(" ", "_") + ".png";
 
@@ -351,6 +352,16 @@ public class Report {
 		return screenshotName;
 	}
 
+	/**
+	 * Function to get the prefix of the screenshot file names, which tells apart
+	 * the screenshots of the iterations run in parallel
+	 * 
+	 * @return The prefix of the screenshot file names
+	 */
+	private String getScreenshotNamePrefix() {
+		return screenshotNamePrefix == null ? reportSettings.getReportName() : screenshotNamePrefix;
+	}
+
 	/**
 	 * Function to take a screenshot
 	 * 
@@ -394,6 +405,65 @@ public class Report {
 		}
 	}
 
+	/**
+	 * Function to keep the test log of this report in memory, for an iteration
+	 * run in parallel with the others. The test log is written to the test log of
+	 * the test case by {@link #mergeIterationTestLog(Report)}
+	 * 
+	 * @param testCaseReport The report of the test case
+	 * @param iteration      The iteration whose test log is kept
+	 */
+	protected void bufferTestLogOf(Report testCaseReport, int iteration) {
+		screenshotNamePrefix = reportSettings.getReportName() + "_Iteration" + iteration;
+		reportTypes.clear();
+		for (ReportType reportType : testCaseReport.reportTypes) {
+			reportTypes.add(new BufferedTestLog(reportType));
+		}
+	}
+
+	/**
+	 * Function to write the test log of an iteration run in parallel to the test
+	 * log, along with its step counts and status
+	 * 
+	 * @param iterationReport The report of the iteration
+	 */
+	public synchronized void mergeIterationTestLog(Report iterationReport) {
+		for (ReportType reportType : iterationReport.reportTypes) {
+			if (reportType instanceof BufferedTestLog) {
+				((BufferedTestLog) reportType).replay();
+			}
+		}
+
+		nStepsPassed += iterationReport.nStepsPassed;
+		nStepsFailed += iterationReport.nStepsFailed;
+		if ("Failed".equals(iterationReport.testStatus)) {
+			testStatus = "Failed";
+			if (failureDescription == null) {
+				failureDescription = iterationReport.failureDescription;
+			} else {
+				failureDescription = failureDescription + "; " + iterationReport.failureDescription;
+			}
+		}
+	}
+
+	/**
+	 * Function to get the settings of the report
+	 * 
+	 * @return The {@link ReportSettings} object
+	 */
+	protected ReportSettings getReportSettings() {
+		return reportSettings;
+	}
+
+	/**
+	 * Function to get the theme of the report
+	 * 
+	 * @return The {@link ReportTheme} object
+	 */
+	protected ReportTheme getReportTheme() {
+		return reportTheme;
+	}
+
 	/* RESULT SUMMARY FUNCTIONS */
 
 	/**
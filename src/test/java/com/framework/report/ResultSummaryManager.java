@@ -41,6 +41,7 @@ import com.framework.selenium.SeleniumTestParameters;
  */
 public class ResultSummaryManager {
 	private SeleniumReport summaryReport;
+	private BatchResultCollector resultCollector;
 
 	private ReportSettings reportSettings;
 	private String reportPath;
@@ -116,6 +117,7 @@ public class ResultSummaryManager {
 		summaryReport.initializeResultSummary();
 
 		createResultSummaryHeader(nThreads);
+		resultCollector = new BatchResultCollector(summaryReport::updateResultSummary);
 	}
 
 	/**
@@ -180,7 +182,17 @@ public class ResultSummaryManager {
 	 */
 	public void updateResultSummary(SeleniumTestParameters testParameters, String testReportName, String executionTime,
 			String testStatus) {
-		summaryReport.updateResultSummary(testParameters, testReportName, executionTime, testStatus);
+		resultCollector.addResult(testParameters, testReportName, executionTime, testStatus);
+	}
+
+	/**
+	 * Function to get the overall status of the test batch, across all the test
+	 * instances executed so far
+	 * 
+	 * @return The test batch status (0 = Success, 1 = Failure)
+	 */
+	public int getTestBatchStatus() {
+		return resultCollector == null ? 0 : resultCollector.getTestBatchStatus();
 	}
 
 	/**
@@ -191,6 +203,8 @@ public class ResultSummaryManager {
 	 *                                        the test is executed in JUnit/TestNG
 	 */
 	public void wrapUp(Boolean testExecutedInUnitTestFramework) {
+		// Let the writer thread add the remaining results before the footer
+		resultCollector.close();
 		overallEndTime = WebReusableComponents.getCurrentTime();
 		String totalExecutionTime = WebReusableComponents.getTimeDifference(overallStartTime, overallEndTime);
 		summaryReport.addResultSummaryFooter(totalExecutionTime);
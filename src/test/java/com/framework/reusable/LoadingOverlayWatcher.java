@@ -0,0 +1,111 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.reusable;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Waits for a loading overlay of the application to disappear, using a
+ * MutationObserver based watcher which is installed in each document by the
+ * first wait. The watcher keeps the visibility of the overlay along with a
+ * generation counter incremented on every change, so that a wait is a single
+ * asynchronous script call which returns at once when the overlay is not shown
+ *
+ * @author Qualitest
+ */
+public class LoadingOverlayWatcher {
+	private static final String AWAIT_IDLE_SCRIPT = "var overlayId = arguments[0], timeout = arguments[1];"
+			+ "var done = arguments[arguments.length - 1];"
+			+ "var watcher = window.__loadingOverlayWatcher;"
+			+ "if (!watcher || watcher.overlayId !== overlayId) {"
+			+ "  watcher = window.__loadingOverlayWatcher = { overlayId: overlayId, generation: 0, visible: false, waiters: [] };"
+			+ "  var isVisible = function() {"
+			+ "    var overlay = document.getElementById(overlayId);"
+			+ "    if (!overlay) { return false; }"
+			+ "    var style = window.getComputedStyle(overlay);"
+			+ "    return style.display !== 'none' && style.visibility !== 'hidden' && overlay.getClientRects().length > 0;"
+			+ "  };"
+			+ "  watcher.update = function() {"
+			+ "    var visible = isVisible();"
+			+ "    if (visible === watcher.visible) { return; }"
+			+ "    watcher.visible = visible;"
+			+ "    watcher.generation++;"
+			+ "    if (!visible) {"
+			+ "      var waiters = watcher.waiters;"
+			+ "      watcher.waiters = [];"
+			+ "      waiters.forEach(function(waiter) { waiter(); });"
+			+ "    }"
+			+ "  };"
+			+ "  new MutationObserver(watcher.update).observe(document.documentElement,"
+			+ "      { subtree: true, childList: true, attributes: true, attributeFilter: ['style', 'class', 'hidden'] });"
+			+ "}"
+			+ "watcher.update();"
+			+ "if (!watcher.visible) { done({ idle: true, waited: 0, generation: watcher.generation }); return; }"
+			+ "var start = Date.now(), finished = false;"
+			+ "var finish = function(idle) {"
+			+ "  if (finished) { return; }"
+			+ "  finished = true;"
+			+ "  done({ idle: idle, waited: Date.now() - start, generation: watcher.generation });"
+			+ "};"
+			+ "var timer = setTimeout(function() { finish(false); }, timeout);"
+			+ "watcher.waiters.push(function() { clearTimeout(timer); finish(true); });";
+
+	private final String overlayId;
+
+	/**
+	 * Constructor to initialize the watcher of the specified overlay
+	 *
+	 * @param overlayId
+	 *            The id of the loading overlay element
+	 */
+	public LoadingOverlayWatcher(String overlayId) {
+		this.overlayId = overlayId;
+	}
+
+	/**
+	 * Function to wait until the loading overlay is not shown
+	 *
+	 * @param driver
+	 *            The {@link WebDriver}
+	 * @param timeout
+	 *            The maximum time to wait for the overlay to disappear
+	 * @return The time waited in milliseconds (0 if the overlay was not shown)
+	 * @throws TimeoutException
+	 *             If the overlay is still shown after the timeout
+	 */
+	@SuppressWarnings("unchecked")
+	public long awaitIdle(WebDriver driver, Duration timeout) {
+		Map<String, Object> result;
+		try {
+			result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_IDLE_SCRIPT,
+					overlayId, timeout.toMillis());
+		} catch (ScriptTimeoutException e) {
+			throw new TimeoutException("The loading overlay " + overlayId + " is still shown after " + timeout, e);
+		}
+
+		long waited = ((Number) result.get("waited")).longValue();
+		if (!Boolean.TRUE.equals(result.get("idle"))) {
+			throw new TimeoutException("The loading overlay " + overlayId + " is still shown after " + waited + " ms");
+		}
+		return waited;
+	}
+}
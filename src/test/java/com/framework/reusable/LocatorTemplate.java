@@ -0,0 +1,106 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.reusable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable locator template with its var1, var2, ... placeholders resolved
+ * once, so that binding the dynamic values is a single pass over the literal
+ * segments
+ *
+ * @author Qualitest
+ */
+public final class LocatorTemplate {
+	private static final Pattern PLACEHOLDER = Pattern.compile("var([1-9])");
+
+	private final String template;
+	// segments[i] precedes the placeholder of index placeholders[i]
+	private final String[] segments;
+	private final int[] placeholders;
+	private final String trailingSegment;
+
+	private LocatorTemplate(String template, String[] segments, int[] placeholders, String trailingSegment) {
+		this.template = template;
+		this.segments = segments;
+		this.placeholders = placeholders;
+		this.trailingSegment = trailingSegment;
+	}
+
+	/**
+	 * Function to compile a locator template
+	 *
+	 * @param template
+	 *            The locator, with var1, var2, ... as the dynamic values
+	 * @return The {@link LocatorTemplate}
+	 */
+	public static LocatorTemplate compile(String template) {
+		List<String> segments = new ArrayList<String>();
+		List<Integer> placeholders = new ArrayList<Integer>();
+		Matcher matcher = PLACEHOLDER.matcher(template);
+		int segmentStart = 0;
+		while (matcher.find()) {
+			segments.add(template.substring(segmentStart, matcher.start()));
+			placeholders.add(Integer.parseInt(matcher.group(1)) - 1);
+			segmentStart = matcher.end();
+		}
+
+		int[] placeholderIndexes = new int[placeholders.size()];
+		for (int i = 0; i < placeholderIndexes.length; i++) {
+			placeholderIndexes[i] = placeholders.get(i);
+		}
+		return new LocatorTemplate(template, segments.toArray(new String[0]), placeholderIndexes,
+				template.substring(segmentStart));
+	}
+
+	/**
+	 * Function to get the locator template as declared
+	 *
+	 * @return The locator template
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Function to replace the dynamic variables of the locator. As with
+	 * replaceLocator, a placeholder without a value is left as is
+	 *
+	 * @param values
+	 *            The values of var1, var2, ...
+	 * @return The locator
+	 */
+	public String bind(String... values) {
+		if (placeholders.length == 0) {
+			return template;
+		}
+
+		StringBuilder locator = new StringBuilder(template.length() + 32);
+		for (int i = 0; i < placeholders.length; i++) {
+			locator.append(segments[i]);
+			int placeholder = placeholders[i];
+			if (placeholder < values.length) {
+				locator.append(values[placeholder]);
+			} else {
+				locator.append("var").append(placeholder + 1);
+			}
+		}
+		return locator.append(trailingSegment).toString();
+	}
+}
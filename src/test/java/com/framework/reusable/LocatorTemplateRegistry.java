@@ -0,0 +1,127 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.reusable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+
+import com.framework.components.FrameworkException;
+
+/**
+ * Registry of the compiled locator templates declared as public static String
+ * fields of a page class, built once per class. The XPath {@link By} bound from
+ * the templates are kept in a shared LRU cache, as the same fields are located
+ * with the same values over and over within a run
+ *
+ * @author Qualitest
+ */
+public final class LocatorTemplateRegistry {
+	private static final int MAX_BOUND_LOCATORS = 1024;
+	private static final Map<Class<?>, LocatorTemplateRegistry> REGISTRIES = new ConcurrentHashMap<Class<?>, LocatorTemplateRegistry>();
+
+	private final Map<String, LocatorTemplate> templates;
+	private final Map<String, By> boundLocators = new LinkedHashMap<String, By>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, By> eldest) {
+			return size() > MAX_BOUND_LOCATORS;
+		}
+	};
+
+	private LocatorTemplateRegistry(Class<?> locatorClass) {
+		Map<String, LocatorTemplate> compiledTemplates = new HashMap<String, LocatorTemplate>();
+		for (Field field : locatorClass.getFields()) {
+			if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+				continue;
+			}
+			try {
+				String template = (String) field.get(null);
+				if (template != null) {
+					compiledTemplates.put(field.getName(), LocatorTemplate.compile(template));
+				}
+			} catch (IllegalAccessException e) {
+				throw new FrameworkException("Error while reading the locator " + field.getName() + ": "
+						+ e.getMessage());
+			}
+		}
+		this.templates = Collections.unmodifiableMap(compiledTemplates);
+	}
+
+	/**
+	 * Function to get the registry of the locator templates of a class
+	 *
+	 * @param locatorClass
+	 *            The class declaring the locator templates
+	 * @return The {@link LocatorTemplateRegistry} of the class
+	 */
+	public static LocatorTemplateRegistry forClass(Class<?> locatorClass) {
+		return REGISTRIES.computeIfAbsent(locatorClass, LocatorTemplateRegistry::new);
+	}
+
+	/**
+	 * Function to get a compiled locator template
+	 *
+	 * @param locatorName
+	 *            The name of the locator field
+	 * @return The {@link LocatorTemplate}
+	 */
+	public LocatorTemplate getTemplate(String locatorName) {
+		LocatorTemplate template = templates.get(locatorName);
+		if (template == null) {
+			throw new FrameworkException("The variable name is not declared in the class file. " + locatorName);
+		}
+		return template;
+	}
+
+	/**
+	 * Function to get the XPath locator of a template, with its dynamic
+	 * variables replaced
+	 *
+	 * @param locatorName
+	 *            The name of the locator field
+	 * @param values
+	 *            The values of var1, var2, ...
+	 * @return The {@link By} locator
+	 */
+	public By getXpath(String locatorName, String... values) {
+		StringBuilder cacheKey = new StringBuilder(locatorName);
+		for (String value : values) {
+			cacheKey.append('\u0000').append(value);
+		}
+		String key = cacheKey.toString();
+
+		synchronized (boundLocators) {
+			By locator = boundLocators.get(key);
+			if (locator != null) {
+				return locator;
+			}
+		}
+
+		By locator = By.xpath(getTemplate(locatorName).bind(values));
+		synchronized (boundLocators) {
+			boundLocators.put(key, locator);
+		}
+		return locator;
+	}
+}
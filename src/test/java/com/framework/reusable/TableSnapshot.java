@@ -0,0 +1,269 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.reusable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import com.framework.components.FrameworkException;
+
+/**
+ * In-memory copy of an HTML table, read in a single script call. The cell texts
+ * are indexed by text and the header cells by column name, and a
+ * MutationObserver counter on the table tells whether the copy is still
+ * current. Rows and columns are numbered from 1, as in the XPath of the table
+ *
+ * @author Qualitest
+ */
+public final class TableSnapshot {
+	private static final String SNAPSHOT_SCRIPT = "var table = arguments[0];"
+			+ "if (arguments[1]) {"
+			+ "  table = arguments[1] === 'xpath'"
+			+ "      ? document.evaluate(arguments[2], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+			+ "      : document.querySelector(arguments[2]);"
+			+ "}"
+			+ "if (!table) { return null; }"
+			+ "if (table.__mutationCount === undefined) {"
+			+ "  table.__mutationCount = 0;"
+			+ "  new MutationObserver(function() { table.__mutationCount++; })"
+			+ "      .observe(table, { subtree: true, childList: true, characterData: true });"
+			+ "}"
+			+ "var cells = [], rowTexts = [], headers = null;"
+			+ "var rows = table.querySelectorAll('tr');"
+			+ "for (var i = 0; i < rows.length; i++) {"
+			+ "  var rowCells = [];"
+			+ "  var headerCells = [];"
+			+ "  for (var j = 0; j < rows[i].children.length; j++) {"
+			+ "    var cell = rows[i].children[j];"
+			+ "    if (cell.tagName === 'TD') { rowCells.push(cell.innerText.trim()); }"
+			+ "    else if (cell.tagName === 'TH') { headerCells.push(cell.innerText.trim()); }"
+			+ "  }"
+			+ "  if (headers === null && headerCells.length > 0) { headers = headerCells; }"
+			+ "  cells.push(rowCells);"
+			+ "  rowTexts.push(rows[i].innerText);"
+			+ "}"
+			+ "return { table: table, generation: table.__mutationCount, cells: cells, rowTexts: rowTexts,"
+			+ "    headers: headers === null ? (cells.length > 0 ? cells[0] : []) : headers };";
+
+	private static final String GENERATION_SCRIPT = "return arguments[0].isConnected ? arguments[0].__mutationCount : -1;";
+
+	private static final String CELL_SCRIPT = "var row = arguments[0].querySelectorAll('tr')[arguments[1]];"
+			+ "if (!row) { return null; }"
+			+ "var cells = Array.prototype.filter.call(row.children, function(cell) { return cell.tagName === 'TD'; });"
+			+ "return cells[arguments[2]] || null;";
+
+	private final WebElement table;
+	private final long generation;
+	private final String[][] cells;
+	private final String[] rowTexts;
+	private final Map<String, Integer> columnIndex = new HashMap<String, Integer>();
+	// Positions of each cell text as {row, column}, in table order
+	private final Map<String, List<int[]>> cellIndex = new HashMap<String, List<int[]>>();
+
+	@SuppressWarnings("unchecked")
+	private TableSnapshot(Map<String, Object> snapshot) {
+		this.table = (WebElement) snapshot.get("table");
+		this.generation = ((Number) snapshot.get("generation")).longValue();
+
+		List<List<Object>> rows = (List<List<Object>>) snapshot.get("cells");
+		List<Object> texts = (List<Object>) snapshot.get("rowTexts");
+		this.cells = new String[rows.size()][];
+		this.rowTexts = new String[rows.size()];
+		for (int row = 0; row < rows.size(); row++) {
+			List<Object> rowCells = rows.get(row);
+			cells[row] = new String[rowCells.size()];
+			for (int column = 0; column < rowCells.size(); column++) {
+				cells[row][column] = String.valueOf(rowCells.get(column));
+				cellIndex.computeIfAbsent(cells[row][column], text -> new ArrayList<int[]>())
+						.add(new int[] { row + 1, column + 1 });
+			}
+			rowTexts[row] = String.valueOf(texts.get(row));
+		}
+
+		List<Object> headers = (List<Object>) snapshot.get("headers");
+		for (int column = headers.size() - 1; column >= 0; column--) {
+			// The first of the duplicate column names wins
+			columnIndex.put(String.valueOf(headers.get(column)), column + 1);
+		}
+	}
+
+	/**
+	 * Function to read a table
+	 *
+	 * @param driver
+	 *            The {@link WebDriver}
+	 * @param tableLocator
+	 *            The {@link WebDriver} locator used to identify the table
+	 * @return The {@link TableSnapshot}
+	 */
+	@SuppressWarnings("unchecked")
+	public static TableSnapshot take(WebDriver driver, By tableLocator) {
+		Object snapshot;
+		if (tableLocator instanceof By.Remotable) {
+			// The table is located by the same script call which reads it
+			By.Remotable.Parameters locator = ((By.Remotable) tableLocator).getRemoteParameters();
+			snapshot = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, null, locator.using(),
+					String.valueOf(locator.value()));
+		} else {
+			snapshot = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, driver.findElement(tableLocator));
+		}
+
+		if (snapshot == null) {
+			throw new FrameworkException("The table " + tableLocator + " is not found");
+		}
+		return new TableSnapshot((Map<String, Object>) snapshot);
+	}
+
+	/**
+	 * Function to check whether the table has changed since it was read
+	 *
+	 * @param driver
+	 *            The {@link WebDriver}
+	 * @return true if the table was modified or removed from the page
+	 */
+	public boolean isStale(WebDriver driver) {
+		try {
+			Object currentGeneration = ((JavascriptExecutor) driver).executeScript(GENERATION_SCRIPT, table);
+			return !(currentGeneration instanceof Number) || ((Number) currentGeneration).longValue() != generation;
+		} catch (WebDriverException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Function to get the number of rows
+	 *
+	 * @return The number of rows, including the header rows
+	 */
+	public int getRowCount() {
+		return cells.length;
+	}
+
+	/**
+	 * Function to get the number of data cells of the first row
+	 *
+	 * @return The number of columns
+	 */
+	public int getColumnCount() {
+		return cells.length == 0 ? 0 : cells[0].length;
+	}
+
+	/**
+	 * Function to get the text of a data cell
+	 *
+	 * @param row
+	 *            The row number
+	 * @param column
+	 *            The column number within the data cells of the row
+	 * @return The cell text, or null if there is no such cell
+	 */
+	public String getCellText(int row, int column) {
+		if (row < 1 || row > cells.length || column < 1 || column > cells[row - 1].length) {
+			return null;
+		}
+		return cells[row - 1][column - 1];
+	}
+
+	/**
+	 * Function to get the number of a column from its header text
+	 *
+	 * @param header
+	 *            The header text
+	 * @return The column number, or -1 if there is no such column
+	 */
+	public int getColumnNumber(String header) {
+		Integer column = columnIndex.get(header);
+		return column == null ? -1 : column;
+	}
+
+	/**
+	 * Function to find the first row with a cell of exactly the specified text
+	 *
+	 * @param cellText
+	 *            The cell text
+	 * @return The row number, or -1 if there is no such row
+	 */
+	public int findRowByCell(String cellText) {
+		List<int[]> positions = cellIndex.get(cellText);
+		return positions == null ? -1 : positions.get(0)[0];
+	}
+
+	/**
+	 * Function to find the first row with the specified text in a column
+	 *
+	 * @param header
+	 *            The header text of the column
+	 * @param cellText
+	 *            The cell text
+	 * @return The row number, or -1 if there is no such row
+	 */
+	public int findRowByColumnValue(String header, String cellText) {
+		int column = getColumnNumber(header);
+		for (int[] position : cellIndex.getOrDefault(cellText, Collections.<int[]>emptyList())) {
+			if (position[1] == column) {
+				return position[0];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Function to find the first row whose text contains the specified text
+	 *
+	 * @param text
+	 *            The text to be found
+	 * @return The row number, or -1 if there is no such row
+	 */
+	public int findRowContaining(String text) {
+		int row = findRowByCell(text);
+		// A row holding the text as a whole cell may still follow a partial match
+		int lastRow = row == -1 ? rowTexts.length : row;
+		for (int i = 0; i < lastRow; i++) {
+			if (rowTexts[i].contains(text)) {
+				return i + 1;
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Function to get a data cell of the table
+	 *
+	 * @param driver
+	 *            The {@link WebDriver}
+	 * @param row
+	 *            The row number
+	 * @param column
+	 *            The column number within the data cells of the row
+	 * @return The cell {@link WebElement}
+	 */
+	public WebElement getCell(WebDriver driver, int row, int column) {
+		Object cell = ((JavascriptExecutor) driver).executeScript(CELL_SCRIPT, table, row - 1, column - 1);
+		if (cell == null) {
+			throw new FrameworkException("The table has no cell at row " + row + ", column " + column);
+		}
+		return (WebElement) cell;
+	}
+}
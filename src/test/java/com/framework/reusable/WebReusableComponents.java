@@ -26,8 +26,11 @@ import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -75,6 +78,62 @@ public abstract class WebReusableComponents extends GenericResuableComponents {
 
 	private int responseStatus;
 	private HttpURLConnection httpURLConnect;
+	private final Map<By, TableSnapshot> tableSnapshots = new HashMap<By, TableSnapshot>();
+
+	// Returned by the form script for the fields which only take real key events
+	private static final String NATIVE_TYPING = "NATIVE_TYPING";
+
+	private static final String FILL_FORM_SCRIPT = "var fields = arguments[0], errors = [];"
+			+ "var setNativeValue = function(element, value) {"
+			+ "  var prototype = element.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+			+ "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value);"
+			+ "};"
+			+ "var fire = function(element, type) { element.dispatchEvent(new Event(type, { bubbles: true })); };"
+			+ "for (var i = 0; i < fields.length; i++) {"
+			+ "  var using = fields[i][0], locator = fields[i][1], value = fields[i][2];"
+			+ "  try {"
+			+ "    var element = using === 'xpath'"
+			+ "        ? document.evaluate(locator, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+			+ "        : document.querySelector(locator);"
+			+ "    if (!element) { errors.push('Element not found'); continue; }"
+			+ "    var wrapper = element.closest('.selectize-control');"
+			+ "    var selectized = element.selectize ? element : wrapper && wrapper.previousElementSibling;"
+			+ "    if (selectized && selectized.selectize) {"
+			+ "      var selectize = selectized.selectize, optionKey = null;"
+			+ "      Object.keys(selectize.options).forEach(function(key) {"
+			+ "        if (key === value || selectize.options[key][selectize.settings.labelField] === value) { optionKey = key; }"
+			+ "      });"
+			+ "      if (optionKey === null) { errors.push('Option not found: ' + value); continue; }"
+			+ "      selectize.setValue(optionKey);"
+			+ "    } else if (element.tagName === 'SELECT') {"
+			+ "      var option = Array.prototype.find.call(element.options, function(candidate) {"
+			+ "        return candidate.value === value || candidate.text.trim() === value;"
+			+ "      });"
+			+ "      if (!option) { errors.push('Option not found: ' + value); continue; }"
+			+ "      element.value = option.value;"
+			+ "      fire(element, 'change');"
+			+ "    } else if (element.tagName === 'INPUT' && element.type === 'file') {"
+			+ "      errors.push('" + NATIVE_TYPING + "'); continue;"
+			+ "    } else if (element.tagName === 'INPUT' && (element.type === 'checkbox' || element.type === 'radio')) {"
+			+ "      var checked = element.type === 'radio' && value === element.value"
+			+ "          || ['true', 'yes', 'on', 'checked'].indexOf(String(value).toLowerCase()) !== -1;"
+			+ "      if (element.type === 'radio' && !checked) { errors.push('Option not found: ' + value); continue; }"
+			+ "      element.scrollIntoView(false);"
+			+ "      if (element.checked !== checked) { element.click(); }"
+			+ "    } else if (element.tagName === 'INPUT' || element.tagName === 'TEXTAREA') {"
+			+ "      element.scrollIntoView(false);"
+			+ "      setNativeValue(element, value);"
+			+ "      fire(element, 'input');"
+			+ "      fire(element, 'change');"
+			+ "    } else {"
+			+ "      errors.push('Unsupported element: ' + element.tagName); continue;"
+			+ "    }"
+			+ "    errors.push('');"
+			+ "  } catch (e) {"
+			+ "    errors.push(String(e));"
+			+ "  }"
+			+ "}"
+			+ "return errors;";
 
 	/**
 	 * The {@link FrameworkDataTable} object (passed from the test script)
@@ -521,6 +580,110 @@ public abstract class WebReusableComponents extends GenericResuableComponents {
 		}
 	}
 
+	/**
+	 * Function to fill the fields of a form in a single script call, setting
+	 * the value of each text field, select or selectize dropdown and
+	 * dispatching its input and change events. A checkbox is checked for the
+	 * values true, yes, on and checked, and a radio button for its own value.
+	 * The file inputs are typed natively
+	 * 
+	 * @param fields The values to enter, keyed by the {@link WebDriver} locator
+	 *               of the field, in the order to be filled
+	 * @return true if all the fields were filled
+	 */
+	public boolean fillForm(Map<By, String> fields) {
+		return fillForm(fields, Collections.<By>emptySet());
+	}
+
+	/**
+	 * Function to fill the fields of a form in as few script calls as possible.
+	 * The fields which need real key events are typed natively with
+	 * {@link #enterText(By, String)}, in their place in the order of the form,
+	 * as are the fields located other than by XPath or CSS selector
+	 * 
+	 * @param fields             The values to enter, keyed by the
+	 *                           {@link WebDriver} locator of the field, in the
+	 *                           order to be filled
+	 * @param nativeTypingFields The locators of the fields to be typed natively
+	 * @return true if all the fields were filled
+	 */
+	public boolean fillForm(Map<By, String> fields, Set<By> nativeTypingFields) {
+		boolean allFilled = true;
+		List<Map.Entry<By, String>> scriptedFields = new ArrayList<Map.Entry<By, String>>();
+		for (Map.Entry<By, String> field : fields.entrySet()) {
+			if (nativeTypingFields.contains(field.getKey()) || !isScriptable(field.getKey())) {
+				allFilled &= fillFormFields(scriptedFields);
+				scriptedFields.clear();
+				enterText(field.getKey(), field.getValue());
+			} else {
+				scriptedFields.add(field);
+			}
+		}
+		return fillFormFields(scriptedFields) && allFilled;
+	}
+
+	/**
+	 * Function to check whether the form script can locate a field. Link text
+	 * locators and the like are only understood by the driver
+	 */
+	private boolean isScriptable(By by) {
+		if (!(by instanceof By.Remotable)) {
+			return false;
+		}
+		String using = ((By.Remotable) by).getRemoteParameters().using();
+		return "xpath".equals(using) || "css selector".equals(using);
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean fillFormFields(List<Map.Entry<By, String>> fields) {
+		if (fields.isEmpty()) {
+			return true;
+		}
+
+		List<List<String>> fieldArguments = new ArrayList<List<String>>();
+		for (Map.Entry<By, String> field : fields) {
+			By.Remotable.Parameters locator = ((By.Remotable) field.getKey()).getRemoteParameters();
+			fieldArguments.add(Arrays.asList(locator.using(), String.valueOf(locator.value()), field.getValue()));
+		}
+
+		List<Object> errors;
+		try {
+			errors = (List<Object>) ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT, fieldArguments);
+		} catch (Exception e) {
+			addTestLog("Fill Form", "The form is NOT filled. Error message - " + e.getMessage(), Status.FAIL);
+			return false;
+		}
+
+		boolean allFilled = true;
+		for (int i = 0; i < fields.size(); i++) {
+			By by = fields.get(i).getKey();
+			String error = String.valueOf(errors.get(i));
+			if (error.isEmpty()) {
+				addTestLog("Enter Text ", "[" + fields.get(i).getValue() + "] is entered successfully in " + by,
+						Status.PASS);
+			} else if (error.equals(NATIVE_TYPING)) {
+				allFilled &= typeNatively(by, fields.get(i).getValue());
+			} else {
+				allFilled = false;
+				addTestLog("Enter Text ", "The element is NOT entered - " + by + ". Error message - " + error,
+						Status.FAIL);
+			}
+		}
+		return allFilled;
+	}
+
+	private boolean typeNatively(By by, String value) {
+		try {
+			driver.findElement(by).sendKeys(value);
+			addTestLog("Enter Text ", "[" + value + "] is entered successfully in " + by, Status.PASS);
+			return true;
+		} catch (Exception e) {
+			addTestLog("Enter Text ", "The element is NOT entered - " + by + ". Error message - " + e.getMessage(),
+					Status.FAIL);
+			return false;
+		}
+	}
+
 	/**
 	 * Function to verify if element is redirected to correct URL
 	 * 
@@ -1315,13 +1478,28 @@ public void shadowClickField(String element) {
 	
 	// ========== WEB TABLE HANDLING ==========
 	
+	/**
+	 * Function to get a snapshot of a table, read again only when the table was
+	 * modified since the last snapshot
+	 * 
+	 * @param tableLocator The {@link WebDriver} locator used to identify the table
+	 * @return The {@link TableSnapshot}
+	 */
+	public TableSnapshot getTableSnapshot(By tableLocator) {
+		TableSnapshot snapshot = tableSnapshots.get(tableLocator);
+		if (snapshot == null || snapshot.isStale(driver)) {
+			snapshot = TableSnapshot.take(driver, tableLocator);
+			tableSnapshots.put(tableLocator, snapshot);
+		}
+		return snapshot;
+	}
+	
 	/**
 	 * Get table row count
 	 */
 	public int getTableRowCount(By tableLocator) {
 		try {
-			List<WebElement> rows = driver.findElements(By.xpath(tableLocator + "//tr"));
-			return rows.size();
+			return getTableSnapshot(tableLocator).getRowCount();
 		} catch (Exception e) {
 			addTestLog("Get row count", "Failed to get row count: " + e.getMessage(), Status.FAIL);
 			return 0;
@@ -1333,8 +1511,7 @@ public void shadowClickField(String element) {
 	 */
 	public int getTableColumnCount(By tableLocator) {
 		try {
-			List<WebElement> columns = driver.findElements(By.xpath(tableLocator + "//tr[1]//td"));
-			return columns.size();
+			return getTableSnapshot(tableLocator).getColumnCount();
 		} catch (Exception e) {
 			addTestLog("Get column count", "Failed to get column count: " + e.getMessage(), Status.FAIL);
 			return 0;
@@ -1346,8 +1523,11 @@ public void shadowClickField(String element) {
 	 */
 	public String getTableCellData(By tableLocator, int row, int column) {
 		try {
-			WebElement cell = driver.findElement(By.xpath(tableLocator + "//tr[" + row + "]//td[" + column + "]"));
-			return cell.getText();
+			String cellText = getTableSnapshot(tableLocator).getCellText(row, column);
+			if (cellText == null) {
+				throw new FrameworkException("The table has no cell at row " + row + ", column " + column);
+			}
+			return cellText;
 		} catch (Exception e) {
 			addTestLog("Get cell data", "Failed to get cell data: " + e.getMessage(), Status.FAIL);
 			return "";
@@ -1359,7 +1539,7 @@ public void shadowClickField(String element) {
 	 */
 	public void clickTableCell(By tableLocator, int row, int column) {
 		try {
-			WebElement cell = driver.findElement(By.xpath(tableLocator + "//tr[" + row + "]//td[" + column + "]"));
+			WebElement cell = getTableSnapshot(tableLocator).getCell(driver, row, column);
 			cell.click();
 			addTestLog("Click table cell", "Clicked cell at row " + row + ", column " + column, Status.PASS);
 		} catch (Exception e) {
@@ -1372,12 +1552,19 @@ public void shadowClickField(String element) {
 	 */
 	public int findRowByCellText(By tableLocator, String cellText) {
 		try {
-			List<WebElement> rows = driver.findElements(By.xpath(tableLocator + "//tr"));
-			for (int i = 0; i < rows.size(); i++) {
-				if (rows.get(i).getText().contains(cellText)) {
-					return i + 1;
-				}
-			}
+			return getTableSnapshot(tableLocator).findRowContaining(cellText);
+		} catch (Exception e) {
+			addTestLog("Find row", "Failed to find row: " + e.getMessage(), Status.FAIL);
+		}
+		return -1;
+	}
+	
+	/**
+	 * Find row by the text of a cell under the specified column header
+	 */
+	public int findRowByColumnValue(By tableLocator, String columnHeader, String cellText) {
+		try {
+			return getTableSnapshot(tableLocator).findRowByColumnValue(columnHeader, cellText);
 		} catch (Exception e) {
 			addTestLog("Find row", "Failed to find row: " + e.getMessage(), Status.FAIL);
 		}
@@ -65,6 +65,22 @@ public class SeleniumReport extends Report {
 		this.driver = driver;
 	}
 
+	/**
+	 * Function to create the report of an iteration run in parallel with the
+	 * others. Its test log is kept in memory until it is merged into this report
+	 * with {@link #mergeIterationTestLog(Report)}
+	 * 
+	 * @param iterationDriver The {@link CustomDriver} running the iteration
+	 * @param iteration       The iteration
+	 * @return The {@link SeleniumReport} of the iteration
+	 */
+	public SeleniumReport createIterationReport(CustomDriver iterationDriver, int iteration) {
+		SeleniumReport iterationReport = new SeleniumReport(getReportSettings(), getReportTheme(), testParameters);
+		iterationReport.setDriver(iterationDriver);
+		iterationReport.bufferTestLogOf(this, iteration);
+		return iterationReport;
+	}
+
 	/**
 	 * Function to take screenshot and save it in a path
 	 * 
@@ -0,0 +1,419 @@
+/*
+ *  © [2022] Qualitest. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.framework.selenium;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+
+import com.framework.components.Settings;
+
+/**
+ * Singleton pool of warm {@link WebDriver} sessions, keyed by the capabilities
+ * of the {@link SeleniumTestParameters} (execution mode, browser, browser
+ * version and platform). Sessions are reset when they are checked in, and
+ * evicted when they fail the health check on check-out or reach the maximum
+ * number of uses
+ *
+ * @author Qualitest
+ */
+public class WebDriverPool {
+	private static final Logger log = LogManager.getLogger(WebDriverPool.class);
+	private static final WebDriverPool WEB_DRIVER_POOL = new WebDriverPool();
+
+	private final Properties properties = Settings.getInstance();
+	private final int maxSessions, maxIdleSessionsPerKey, maxUses, warmUpSize;
+
+	private final Map<String, Deque<PooledDriver>> idleSessions = new ConcurrentHashMap<String, Deque<PooledDriver>>();
+	private final Map<WebDriver, PooledDriver> checkedOutSessions = new ConcurrentHashMap<WebDriver, PooledDriver>();
+	private final AtomicInteger openSessions = new AtomicInteger();
+	private final Object sessionReleased = new Object();
+	private final ExecutorService warmUpExecutor;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder checkOutNanos = new LongAdder();
+
+	private WebDriverPool() {
+		maxSessions = Integer.parseInt(properties.getProperty("WebDriverPoolMaxSize", "4"));
+		maxIdleSessionsPerKey = Integer.parseInt(properties.getProperty("WebDriverPoolMaxIdlePerKey", "2"));
+		maxUses = Integer.parseInt(properties.getProperty("WebDriverPoolMaxUses", "50"));
+		warmUpSize = Integer.parseInt(properties.getProperty("WebDriverPoolWarmUpSize", "1"));
+
+		warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "WebDriverPool-warmup");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+	}
+
+	/**
+	 * Function to return the singleton instance of the {@link WebDriverPool}
+	 * object
+	 *
+	 * @return Instance of the {@link WebDriverPool} object
+	 */
+	public static WebDriverPool getInstance() {
+		return WEB_DRIVER_POOL;
+	}
+
+	/**
+	 * Function to check whether the pooling of WebDriver sessions is enabled
+	 * for the specified test parameters. Only the LOCAL and GRID web sessions
+	 * are pooled; the cloud sessions are named and reported per scenario
+	 *
+	 * @param testParameters
+	 *            The {@link SeleniumTestParameters} of the scenario
+	 * @return true if the session is to be taken from the pool
+	 */
+	public boolean isPoolingEnabled(SeleniumTestParameters testParameters) {
+		if (!Boolean.parseBoolean(properties.getProperty("WebDriverPooling", "False"))) {
+			return false;
+		}
+		return testParameters.getExecutionMode() == ExecutionMode.LOCAL
+				|| testParameters.getExecutionMode() == ExecutionMode.GRID;
+	}
+
+	private static String getPoolKey(SeleniumTestParameters testParameters) {
+		return testParameters.getExecutionMode() + "|" + testParameters.getBrowser() + "|"
+				+ testParameters.getBrowserVersion() + "|" + testParameters.getPlatform();
+	}
+
+	/**
+	 * Function to check out a session matching the specified test parameters,
+	 * creating a new one if no healthy idle session is available. When the
+	 * pool already holds the maximum number of sessions, an idle session of
+	 * other test parameters is quit to make room, or else the check-out waits
+	 * for a session to be checked in
+	 *
+	 * @param testParameters
+	 *            The {@link SeleniumTestParameters} of the scenario
+	 * @param driverFactory
+	 *            Creates a new session on a pool miss
+	 * @return The {@link WebDriver} (null if a new session could not be
+	 *         created)
+	 */
+	public WebDriver checkOut(SeleniumTestParameters testParameters, Supplier<WebDriver> driverFactory) {
+		long startTime = System.nanoTime();
+		String poolKey = getPoolKey(testParameters);
+		boolean missed = false;
+
+		try {
+			while (true) {
+				PooledDriver pooledDriver = pollHealthy(poolKey);
+				if (pooledDriver != null) {
+					hits.increment();
+					pooledDriver.uses++;
+					checkedOutSessions.put(pooledDriver.driver, pooledDriver);
+					return pooledDriver.driver;
+				}
+
+				if (!missed) {
+					missed = true;
+					misses.increment();
+				}
+
+				if (reserveSession() || evictIdleSession()) {
+					break;
+				}
+				synchronized (sessionReleased) {
+					if (openSessions.get() >= maxSessions) {
+						sessionReleased.wait(TimeUnit.SECONDS.toMillis(1));
+					}
+				}
+			}
+
+			// Start the sessions for the next scenarios while this one starts
+			warmUp(testParameters, driverFactory, warmUpSize);
+			WebDriver driver = createSession(driverFactory);
+			if (driver == null) {
+				return null;
+			}
+			PooledDriver newDriver = new PooledDriver(poolKey, driver);
+			newDriver.uses++;
+			checkedOutSessions.put(driver, newDriver);
+			return driver;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			checkOutNanos.add(System.nanoTime() - startTime);
+		}
+	}
+
+	private PooledDriver pollHealthy(String poolKey) {
+		Deque<PooledDriver> idle = idleSessions.get(poolKey);
+		PooledDriver pooledDriver;
+		while (idle != null && (pooledDriver = idle.pollFirst()) != null) {
+			if (isHealthy(pooledDriver.driver)) {
+				return pooledDriver;
+			}
+			evict(pooledDriver);
+		}
+		return null;
+	}
+
+	/**
+	 * Function to count a new session against the maximum pool size
+	 *
+	 * @return true if the pool had room for the session
+	 */
+	private boolean reserveSession() {
+		int open;
+		do {
+			open = openSessions.get();
+			if (open >= maxSessions) {
+				return false;
+			}
+		} while (!openSessions.compareAndSet(open, open + 1));
+		return true;
+	}
+
+	/**
+	 * Function to start a session in the place reserved for it, giving the
+	 * place back if the session could not be started
+	 *
+	 * @param driverFactory
+	 *            Creates the new session
+	 * @return The {@link WebDriver} (null if the session could not be created)
+	 */
+	private WebDriver createSession(Supplier<WebDriver> driverFactory) {
+		WebDriver driver = null;
+		try {
+			driver = driverFactory.get();
+			return driver;
+		} finally {
+			if (driver == null) {
+				releaseSession();
+			}
+		}
+	}
+
+	private void releaseSession() {
+		openSessions.decrementAndGet();
+		synchronized (sessionReleased) {
+			sessionReleased.notifyAll();
+		}
+	}
+
+	/**
+	 * Function to quit an idle session of any test parameters, handing its
+	 * place in the pool over to the caller
+	 *
+	 * @return true if an idle session was quit
+	 */
+	private boolean evictIdleSession() {
+		for (Deque<PooledDriver> idle : idleSessions.values()) {
+			PooledDriver pooledDriver = idle.pollLast();
+			if (pooledDriver != null) {
+				evictions.increment();
+				quit(pooledDriver);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Function to create sessions in the background, so that the following
+	 * scenarios with the same test parameters find a warm session in the pool
+	 *
+	 * @param testParameters
+	 *            The {@link SeleniumTestParameters} of the sessions
+	 * @param driverFactory
+	 *            Creates each new session
+	 * @param count
+	 *            The number of sessions to be created (within the pool limits)
+	 */
+	public void warmUp(SeleniumTestParameters testParameters, Supplier<WebDriver> driverFactory, int count) {
+		String poolKey = getPoolKey(testParameters);
+		for (int i = 0; i < count; i++) {
+			warmUpExecutor.execute(() -> {
+				Deque<PooledDriver> idle = idleSessions.computeIfAbsent(poolKey,
+						key -> new ConcurrentLinkedDeque<PooledDriver>());
+				if (idle.size() >= maxIdleSessionsPerKey || !reserveSession()) {
+					return;
+				}
+
+				WebDriver driver = createSession(driverFactory);
+				if (driver != null) {
+					idle.addLast(new PooledDriver(poolKey, driver));
+				}
+			});
+		}
+	}
+
+	/**
+	 * Function to check a session back into the pool. Sessions which are not
+	 * from the pool, have reached the maximum number of uses or cannot be
+	 * reset are quit instead
+	 *
+	 * @param driver
+	 *            The {@link WebDriver} to be checked in
+	 */
+	public void checkIn(WebDriver driver) {
+		if (driver == null) {
+			return;
+		}
+
+		PooledDriver pooledDriver = checkedOutSessions.remove(driver);
+		if (pooledDriver == null) {
+			driver.quit();
+			return;
+		}
+
+		Deque<PooledDriver> idle = idleSessions.computeIfAbsent(pooledDriver.poolKey,
+				key -> new ConcurrentLinkedDeque<PooledDriver>());
+		if (pooledDriver.uses >= maxUses || idle.size() >= maxIdleSessionsPerKey
+				|| openSessions.get() > maxSessions || !reset(driver)) {
+			evict(pooledDriver);
+			return;
+		}
+		idle.addFirst(pooledDriver);
+		synchronized (sessionReleased) {
+			sessionReleased.notifyAll();
+		}
+	}
+
+	/**
+	 * Function to clear the state left by the scenario: extra windows and the
+	 * cookies and storage of every origin. Only the Chromium browsers (Chrome
+	 * and Edge) let the whole profile be cleared, through the DevTools protocol;
+	 * WebDriver only reaches the cookies and storage of the current origin, and
+	 * does not tell which other origins (e.g. a single sign-on provider) the
+	 * scenario visited, so the sessions of the other browsers are not reused
+	 *
+	 * @param driver
+	 *            The {@link WebDriver} to be reset
+	 * @return true if the session was reset
+	 */
+	private boolean reset(WebDriver driver) {
+		try {
+			WebDriver augmentedDriver = new Augmenter().augment(driver);
+			if (!(augmentedDriver instanceof HasCdp)) {
+				return false;
+			}
+
+			List<String> windowHandles = new ArrayList<String>(driver.getWindowHandles());
+			for (int i = 1; i < windowHandles.size(); i++) {
+				driver.switchTo().window(windowHandles.get(i)).close();
+			}
+			driver.switchTo().window(windowHandles.get(0));
+
+			// The session storage belongs to the tab, and is not cleared through the
+			// protocol
+			((JavascriptExecutor) driver).executeScript("try { window.sessionStorage.clear(); } catch (e) {}");
+			HasCdp cdp = (HasCdp) augmentedDriver;
+			cdp.executeCdpCommand("Network.clearBrowserCookies", new HashMap<String, Object>());
+			Map<String, Object> storage = new HashMap<String, Object>();
+			storage.put("origin", "*");
+			storage.put("storageTypes", "all");
+			cdp.executeCdpCommand("Storage.clearDataForOrigin", storage);
+			driver.get("about:blank");
+			return true;
+		} catch (RuntimeException e) {
+			log.warn("Unable to reset the pooled WebDriver session: " + e.getMessage());
+			return false;
+		}
+	}
+
+	private boolean isHealthy(WebDriver driver) {
+		try {
+			driver.getWindowHandle();
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	private void evict(PooledDriver pooledDriver) {
+		evictions.increment();
+		quit(pooledDriver);
+		releaseSession();
+	}
+
+	private void quit(PooledDriver pooledDriver) {
+		try {
+			pooledDriver.driver.quit();
+		} catch (RuntimeException e) {
+			// The session is already gone
+		}
+	}
+
+	/**
+	 * Function to get the pool statistics
+	 *
+	 * @return The hits, misses, evictions and average check-out latency
+	 */
+	public String getStatistics() {
+		long checkOuts = hits.sum() + misses.sum();
+		long averageCheckOutMillis = checkOuts == 0 ? 0
+				: TimeUnit.NANOSECONDS.toMillis(checkOutNanos.sum() / checkOuts);
+		return "WebDriver pool - hits: " + hits.sum() + ", misses: " + misses.sum() + ", evictions: "
+				+ evictions.sum() + ", open sessions: " + openSessions.get() + ", average check-out time: "
+				+ averageCheckOutMillis + " ms";
+	}
+
+	/**
+	 * Function to quit all the idle sessions
+	 */
+	public void shutdown() {
+		warmUpExecutor.shutdownNow();
+		for (Deque<PooledDriver> idle : idleSessions.values()) {
+			PooledDriver pooledDriver;
+			while ((pooledDriver = idle.pollFirst()) != null) {
+				evict(pooledDriver);
+			}
+		}
+		if (hits.sum() + misses.sum() > 0) {
+			log.info(getStatistics());
+		}
+	}
+
+	/**
+	 * A pooled session along with its pool key and use count
+	 */
+	private static final class PooledDriver {
+		private final String poolKey;
+		private final WebDriver driver;
+		private int uses;
+
+		private PooledDriver(String poolKey, WebDriver driver) {
+			this.poolKey = poolKey;
+			this.driver = driver;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.framework.webcrawler;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only log of the progress of a web crawl, from which a crawl that did
+ * not complete is resumed. Each line is a tab separated record:
+ * <ul>
+ * <li>D, depth, URL - a URL was added to the frontier</li>
+ * <li>C, page URL, reported links... - a page was crawled</li>
+ * </ul>
+ * The log is flushed every few crawled pages, and deleted once the crawl
+ * completes
+ */
+public class CrawlCheckpoint {
+
+	private final File logFile;
+	private final int flushInterval;
+	private BufferedWriter writer;
+	private int unflushedPages;
+
+	/**
+	 * @param logFile       The checkpoint log of the crawl
+	 * @param flushInterval The number of crawled pages between two flushes
+	 */
+	public CrawlCheckpoint(File logFile, int flushInterval) {
+		this.logFile = logFile;
+		this.flushInterval = Math.max(1, flushInterval);
+	}
+
+	/**
+	 * Restores the state of an earlier crawl which did not complete
+	 * 
+	 * @param frontier       The frontier to be restored
+	 * @param webCrawlReport The report into which the links of the crawled pages
+	 *                       are written again
+	 * @param crawledList    The list of crawled pages to be restored
+	 * @return true if a crawl was resumed
+	 */
+	public boolean restore(CrawlFrontier frontier, CrawlReportWriter webCrawlReport, List<String> crawledList) {
+		if (!logFile.exists()) {
+			return false;
+		}
+
+		List<String> records;
+		try {
+			records = new ArrayList<String>(Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+			if (!records.isEmpty() && !endsWithNewLine()) {
+				// The crawl died while writing its last record
+				records.remove(records.size() - 1);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		Map<String, Integer> discoveredUrls = new LinkedHashMap<String, Integer>();
+		Set<String> crawledUrls = new HashSet<String>();
+		for (String record : records) {
+			String[] fields = record.split("\t");
+			if (fields[0].equals("D") && fields.length == 3) {
+				discoveredUrls.putIfAbsent(fields[2], Integer.parseInt(fields[1]));
+			} else if (fields[0].equals("C") && fields.length >= 2) {
+				crawledUrls.add(fields[1]);
+				crawledList.add(fields[1]);
+				webCrawlReport.writeLinks(fields[1], Arrays.asList(fields).subList(2, fields.length));
+			}
+		}
+		for (Map.Entry<String, Integer> discoveredUrl : discoveredUrls.entrySet()) {
+			frontier.restore(discoveredUrl.getKey(), discoveredUrl.getValue(),
+					crawledUrls.contains(discoveredUrl.getKey()));
+		}
+		System.out.println("Resumed the crawl of " + crawledUrls.size() + " pages from " + logFile);
+		return true;
+	}
+
+	private boolean endsWithNewLine() throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+			if (file.length() == 0) {
+				return true;
+			}
+			file.seek(file.length() - 1);
+			return file.read() == '\n';
+		}
+	}
+
+	/**
+	 * Opens the log for writing the progress of the crawl. The log is truncated
+	 * unless the crawl resumed from it, so that the records of an earlier crawl
+	 * are never replayed along with this one
+	 */
+	public synchronized void open(boolean resumed) throws IOException {
+		logFile.getParentFile().mkdirs();
+		writer = new BufferedWriter(new FileWriter(logFile, StandardCharsets.UTF_8, resumed));
+	}
+
+	/**
+	 * Records a URL added to the frontier
+	 */
+	public synchronized void discovered(String url, int depth) {
+		write("D\t" + depth + "\t" + url + "\n");
+	}
+
+	/**
+	 * Records a crawled page along with the links written to the report
+	 */
+	public synchronized void crawled(String pageURL, List<String> reportedLinks) {
+		StringBuilder record = new StringBuilder("C\t").append(pageURL);
+		for (String link : reportedLinks) {
+			record.append('\t').append(link);
+		}
+		write(record.append('\n').toString());
+
+		if (++unflushedPages >= flushInterval) {
+			unflushedPages = 0;
+			try {
+				writer.flush();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void write(String record) {
+		try {
+			writer.write(record);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Closes the log, deleting it if the crawl completed
+	 * 
+	 * @param completed true if there is nothing left to resume
+	 */
+	public synchronized void close(boolean completed) {
+		try {
+			if (writer != null) {
+				writer.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		if (completed) {
+			logFile.delete();
+		}
+	}
+}
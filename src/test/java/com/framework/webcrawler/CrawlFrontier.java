@@ -0,0 +1,178 @@
+package com.framework.webcrawler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Frontier of the web crawl: the URLs discovered so far, in discovery order,
+ * with a hashed map of their normalised form for constant time de-duplication
+ * and a queue of the URLs still to be crawled. The frontier is shared by the
+ * crawl sessions, and enforces the page and depth budget of the crawl
+ */
+public class CrawlFrontier {
+
+	// Link depth of each URL, keyed by normalised URL
+	private final Map<String, Integer> seenUrls = new HashMap<String, Integer>();
+	private final List<String> discoveredUrls = new ArrayList<String>();
+	private final Queue<String> pendingUrls = new ArrayDeque<String>();
+	private final int maxPages;
+	private final int maxDepth;
+	private int takenUrls;
+	private int inFlightUrls;
+
+	/**
+	 * @param maxPages The maximum number of URLs to be crawled (0 for no limit)
+	 * @param maxDepth The maximum link depth from the base URL (0 for no limit)
+	 */
+	public CrawlFrontier(int maxPages, int maxDepth) {
+		this.maxPages = maxPages;
+		this.maxDepth = maxDepth;
+	}
+
+	public CrawlFrontier() {
+		this(0, 0);
+	}
+
+	/**
+	 * Adds a URL to the frontier, unless the same normalised URL was added
+	 * before or the URL is beyond the depth budget
+	 * 
+	 * @param url   The URL to be crawled
+	 * @param depth The number of links followed from the base URL
+	 * @return true if the URL was added
+	 */
+	public synchronized boolean add(String url, int depth) {
+		if (maxDepth > 0 && depth > maxDepth) {
+			return false;
+		}
+		if (seenUrls.putIfAbsent(normalise(url), depth) != null) {
+			return false;
+		}
+		discoveredUrls.add(url);
+		pendingUrls.add(url);
+		notifyAll();
+		return true;
+	}
+
+	/**
+	 * Restores a URL of an earlier crawl, in its discovery order
+	 * 
+	 * @param url     The URL
+	 * @param depth   The number of links followed from the base URL
+	 * @param crawled true if the URL was crawled already
+	 */
+	public synchronized void restore(String url, int depth, boolean crawled) {
+		if (seenUrls.putIfAbsent(normalise(url), depth) != null) {
+			return;
+		}
+		discoveredUrls.add(url);
+		if (crawled) {
+			takenUrls++;
+		} else {
+			pendingUrls.add(url);
+		}
+	}
+
+	/**
+	 * Gets the link depth of a URL of the frontier
+	 * 
+	 * @param url The URL
+	 * @return The number of links followed from the base URL
+	 */
+	public synchronized int getDepth(String url) {
+		Integer depth = seenUrls.get(normalise(url));
+		return depth == null ? 0 : depth;
+	}
+
+	/**
+	 * Takes the next URL to be crawled, without waiting for other sessions
+	 * 
+	 * @return The URL, or null if the frontier or the page budget is exhausted
+	 */
+	public synchronized String next() {
+		if (pendingUrls.isEmpty() || isPageBudgetSpent()) {
+			return null;
+		}
+		takenUrls++;
+		return pendingUrls.poll();
+	}
+
+	/**
+	 * Takes the next URL to be crawled, waiting while the frontier is empty but
+	 * other sessions may still add the links of the pages they crawl. Each URL
+	 * taken must be reported with {@link #complete()}
+	 * 
+	 * @return The URL, or null once the crawl is over
+	 * @throws InterruptedException
+	 */
+	public synchronized String take() throws InterruptedException {
+		while (pendingUrls.isEmpty() && inFlightUrls > 0 && !isPageBudgetSpent()) {
+			wait();
+		}
+		String url = next();
+		if (url == null) {
+			// Release the sessions still waiting
+			notifyAll();
+		} else {
+			inFlightUrls++;
+		}
+		return url;
+	}
+
+	/**
+	 * Reports that the crawl of a URL taken with {@link #take()} is over, and
+	 * its links were added to the frontier
+	 */
+	public synchronized void complete() {
+		inFlightUrls--;
+		notifyAll();
+	}
+
+	private boolean isPageBudgetSpent() {
+		return maxPages > 0 && takenUrls >= maxPages;
+	}
+
+	/**
+	 * @return The number of URLs discovered so far
+	 */
+	public synchronized int size() {
+		return discoveredUrls.size();
+	}
+
+	/**
+	 * @return The URLs discovered so far, in discovery order
+	 */
+	public synchronized List<String> getDiscoveredUrls() {
+		return new ArrayList<String>(discoveredUrls);
+	}
+
+	/**
+	 * Normalises a URL for de-duplication: the scheme and host are case
+	 * insensitive, and the fragment and trailing slashes are ignored
+	 * 
+	 * @param url The URL
+	 * @return The normalised URL
+	 */
+	public static String normalise(String url) {
+		int fragmentStart = url.indexOf('#');
+		String normalisedUrl = fragmentStart < 0 ? url : url.substring(0, fragmentStart);
+
+		int hostStart = normalisedUrl.indexOf("://");
+		hostStart = hostStart < 0 ? 0 : hostStart + 3;
+		int pathStart = normalisedUrl.indexOf('/', hostStart);
+		if (pathStart < 0) {
+			return normalisedUrl.toLowerCase(Locale.ROOT);
+		}
+
+		int end = normalisedUrl.length();
+		while (end > pathStart && normalisedUrl.charAt(end - 1) == '/') {
+			end--;
+		}
+		return normalisedUrl.substring(0, pathStart).toLowerCase(Locale.ROOT) + normalisedUrl.substring(pathStart, end);
+	}
+}
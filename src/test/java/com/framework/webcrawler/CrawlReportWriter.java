@@ -0,0 +1,44 @@
+package com.framework.webcrawler;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the links found on each crawled page into the web crawl report as
+ * soon as the page is crawled, one "BaseURL,href" line per link. The links of
+ * a page are written together, whichever session crawled it
+ */
+public class CrawlReportWriter implements Closeable {
+
+	private final BufferedWriter writer;
+
+	public CrawlReportWriter(String filePath) throws IOException {
+		writer = new BufferedWriter(new FileWriter(filePath));
+		writer.write("BaseURL,href\n");
+	}
+
+	/**
+	 * Writes the links of a crawled page
+	 * 
+	 * @param pageUrl The URL of the crawled page
+	 * @param links   The links to be reported
+	 */
+	public synchronized void writeLinks(String pageUrl, List<String> links) {
+		try {
+			for (String link : links) {
+				writer.write(pageUrl + "," + link + "\n");
+			}
+			writer.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+}
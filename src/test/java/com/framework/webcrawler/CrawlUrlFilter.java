@@ -0,0 +1,93 @@
+package com.framework.webcrawler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which of the links found by the web crawl are crawled and reported.
+ * The allowed and restricted domain lists (allowedDomainToCrawl and
+ * domainRestrcitionForCrawl, separated by ';') are compiled once into a single
+ * matcher each, instead of being scanned item by item for every link
+ */
+public class CrawlUrlFilter {
+
+	// Links which are never crawled
+	private static final Pattern EXCLUDED_LINKS = compileContainsMatcher(Arrays.asList("http://digg.com/",
+			"http://del.icio.us/", "http://reddit.com/", "http://www.facebook.com/", "https://survey.clicktools.com/",
+			"/cookie-notice/notice", "http://www.stumbleupon.com/", "http://twitter.com/", "not-found", "session=",
+			"auth/Account", "media"));
+	// Links which are crawled but not written to the crawl report
+	private static final Pattern UNREPORTED_LINKS = compileContainsMatcher(
+			Arrays.asList("survey.clicktools", ".com/#"));
+
+	private final Pattern allowedDomains;
+	private final Pattern restrictedDomains;
+	private final String baseDomain;
+
+	public CrawlUrlFilter(String allowedDomainList, String restrictedDomainList, String baseDomain) {
+		this.allowedDomains = compileContainsMatcher(Arrays.asList(allowedDomainList.split("\\;")));
+		this.restrictedDomains = compileContainsMatcher(Arrays.asList(restrictedDomainList.split("\\;")));
+		this.baseDomain = baseDomain;
+	}
+
+	public CrawlUrlFilter() {
+		this(ReadProperties.nameMap.get("allowedDomainToCrawl"), ReadProperties.nameMap.get("domainRestrcitionForCrawl"),
+				ReadProperties.nameMap.get("BaseDomain"));
+	}
+
+	/**
+	 * Compiles a matcher which finds any of the items in a string, as
+	 * String.contains would
+	 */
+	private static Pattern compileContainsMatcher(List<String> items) {
+		List<String> quotedItems = new ArrayList<String>();
+		for (String item : items) {
+			quotedItems.add(Pattern.quote(item));
+		}
+		// An empty item is contained in every string
+		return Pattern.compile(String.join("|", quotedItems));
+	}
+
+	/**
+	 * Gets the host (with the port, if any) of a URL
+	 */
+	public static String getHost(String url) {
+		int hostStart = url.startsWith("https://") ? 8 : url.startsWith("http://") ? 7 : 0;
+		int hostEnd = url.indexOf('/', hostStart);
+		return hostEnd < 0 ? url.substring(hostStart) : url.substring(hostStart, hostEnd);
+	}
+
+	/**
+	 * Checks whether a link belongs to the base domain of the crawl
+	 */
+	public boolean isInBaseDomain(String url) {
+		return getHost(url).contains(baseDomain);
+	}
+
+	/**
+	 * Checks whether a link is to be written to the crawl report
+	 */
+	public boolean isReportable(String url) {
+		return isInBaseDomain(url) && !(url.startsWith("javascript:") || url.startsWith("market:")
+				|| url.startsWith("mailto:") || UNREPORTED_LINKS.matcher(url).find());
+	}
+
+	/**
+	 * Gets the URL to be crawled for a link
+	 * 
+	 * @param url The link
+	 * @return The link without its fragment, or null if it is not to be crawled
+	 */
+	public String getCrawlableUrl(String url) {
+		if (!allowedDomains.matcher(url.replace("https://", "").replace("http://", "")).find()
+				|| restrictedDomains.matcher(url).find() || EXCLUDED_LINKS.matcher(url).find()) {
+			return null;
+		}
+
+		int fragmentStart = url.indexOf('#');
+		String crawlableUrl = fragmentStart < 0 ? url : url.substring(0, fragmentStart);
+		return isInBaseDomain(crawlableUrl) ? crawlableUrl : null;
+	}
+}
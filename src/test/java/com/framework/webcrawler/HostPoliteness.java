@@ -0,0 +1,66 @@
+package com.framework.webcrawler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Politeness limits of the web crawl for each host: the number of sessions
+ * loading its pages at once, and the minimum delay between two page loads
+ */
+public class HostPoliteness {
+
+	private final int maxSessionsPerHost;
+	private final long hostDelayMillis;
+	private final Map<String, HostSlot> hostSlots = new ConcurrentHashMap<String, HostSlot>();
+
+	public HostPoliteness(int maxSessionsPerHost, long hostDelayMillis) {
+		this.maxSessionsPerHost = Math.max(1, maxSessionsPerHost);
+		this.hostDelayMillis = hostDelayMillis;
+	}
+
+	/**
+	 * Waits until a page of the host may be loaded
+	 * 
+	 * @param host The host of the page
+	 * @throws InterruptedException
+	 */
+	public void acquire(String host) throws InterruptedException {
+		HostSlot hostSlot = hostSlots.computeIfAbsent(host, key -> new HostSlot(maxSessionsPerHost));
+		hostSlot.permits.acquire();
+
+		long delay;
+		synchronized (hostSlot) {
+			long now = System.currentTimeMillis();
+			long loadTime = Math.max(now, hostSlot.nextLoadTime);
+			hostSlot.nextLoadTime = loadTime + hostDelayMillis;
+			delay = loadTime - now;
+		}
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				hostSlot.permits.release();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Reports that the page load of the host is over
+	 * 
+	 * @param host The host of the page
+	 */
+	public void release(String host) {
+		hostSlots.get(host).permits.release();
+	}
+
+	private static final class HostSlot {
+		private final Semaphore permits;
+		private long nextLoadTime;
+
+		private HostSlot(int maxSessions) {
+			this.permits = new Semaphore(maxSessions);
+		}
+	}
+}
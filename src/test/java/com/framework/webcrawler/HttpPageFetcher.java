@@ -0,0 +1,145 @@
+package com.framework.webcrawler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the links of a page over plain HTTP, for the pages which are rendered
+ * on the server. A page is left to the browser session when it is on one of
+ * the browser paths, or when its response looks like it is rendered by
+ * JavaScript: no links in the HTML, a single page application mount point, or
+ * a noscript notice
+ */
+public class HttpPageFetcher {
+
+	private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+			.followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(Duration.ofSeconds(10)).build();
+
+	private static final Pattern LINK = Pattern.compile(
+			"<a\\s[^>]*?\\bhref\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))", Pattern.CASE_INSENSITIVE);
+	private static final Pattern BASE = Pattern.compile(
+			"<base\\s[^>]*?\\bhref\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))", Pattern.CASE_INSENSITIVE);
+	private static final Pattern COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+	private static final Pattern JS_RENDERED = Pattern.compile(
+			"<div[^>]+id\\s*=\\s*[\"'](?:root|app|__next)[\"'][^>]*>\\s*</div>|\\bng-app\\b|\\bng-version\\b"
+					+ "|<noscript>[^<]*(?:enable|requires?)\\s+javascript",
+			Pattern.CASE_INSENSITIVE);
+
+	private final List<String> browserPaths;
+
+	/**
+	 * @param browserPaths The URL parts of the pages always crawled with the
+	 *                     browser session
+	 */
+	public HttpPageFetcher(List<String> browserPaths) {
+		this.browserPaths = browserPaths;
+	}
+
+	/**
+	 * Gets the links of a page, as absolute URLs
+	 * 
+	 * @param pageURL The URL of the page
+	 * @return The links, or null if the page is to be crawled with the browser
+	 *         session
+	 * @throws InterruptedException
+	 */
+	public List<String> fetchLinks(String pageURL) throws InterruptedException {
+		for (String browserPath : browserPaths) {
+			if (!browserPath.isEmpty() && pageURL.contains(browserPath)) {
+				return null;
+			}
+		}
+
+		HttpResponse<String> response;
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(pageURL)).timeout(Duration.ofSeconds(30))
+					.header("Accept", "text/html,application/xhtml+xml").GET().build();
+			response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+		} catch (IOException | IllegalArgumentException e) {
+			return null;
+		}
+
+		if (response.statusCode() / 100 != 2) {
+			// Error pages, logins and bot challenges are left to the browser
+			return null;
+		}
+		String contentType = response.headers().firstValue("Content-Type").orElse("").toLowerCase(Locale.ROOT);
+		if (!contentType.contains("html")) {
+			// The browser would not find any link in a document either
+			return new ArrayList<String>();
+		}
+
+		String html = COMMENT.matcher(response.body()).replaceAll("");
+		if (JS_RENDERED.matcher(html).find()) {
+			return null;
+		}
+
+		URI baseURI = response.uri();
+		Matcher base = BASE.matcher(html);
+		if (base.find()) {
+			URI declaredBase = toURI(baseURI, getAttributeValue(base));
+			baseURI = declaredBase == null ? baseURI : declaredBase;
+		}
+
+		List<String> links = new ArrayList<String>();
+		Matcher link = LINK.matcher(html);
+		while (link.find()) {
+			URI linkURI = toURI(baseURI, getAttributeValue(link));
+			if (linkURI != null) {
+				links.add(linkURI.toString());
+			}
+		}
+		// A server rendered page without any link is most likely a client side shell
+		return links.isEmpty() ? null : links;
+	}
+
+	private static String getAttributeValue(Matcher matcher) {
+		String value = matcher.group(1) != null ? matcher.group(1)
+				: matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+		return value.trim().replace("&amp;", "&").replace("&#38;", "&");
+	}
+
+	/**
+	 * Resolves a link against the base URI, as the href property of the link
+	 * element would. URI.resolve follows RFC 2396, so the references which
+	 * browsers resolve differently are handled here: the empty, query only and
+	 * fragment only references, and a base URI without a path
+	 */
+	static URI toURI(URI baseURI, String href) {
+		try {
+			String reference = href.replace(" ", "%20");
+			URI base = baseURI;
+			if (base.getRawAuthority() != null && base.getRawPath().isEmpty()) {
+				base = URI.create(base.getScheme() + "://" + base.getRawAuthority() + "/"
+						+ (base.getRawQuery() == null ? "" : "?" + base.getRawQuery()));
+			}
+
+			String document = base.toString();
+			if (base.getRawFragment() != null) {
+				document = document.substring(0, document.indexOf('#'));
+			}
+			if (reference.isEmpty()) {
+				return URI.create(document);
+			}
+			if (reference.startsWith("#")) {
+				return URI.create(document + reference);
+			}
+			if (reference.startsWith("?")) {
+				int query = document.indexOf('?');
+				return URI.create((query == -1 ? document : document.substring(0, query)) + reference);
+			}
+			return base.resolve(reference);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.framework.webcrawler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Checks the links read by the HttpPageFetcher against the href values a
+ * browser gives for the same pages, served by an embedded HTTP server
+ */
+public class HttpPageFetcherTest {
+
+	private HttpServer server;
+	private String siteURL;
+
+	@BeforeClass
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/dir/page.html", exchange -> respond(exchange, 200, "text/html; charset=UTF-8",
+				"<html><body>"
+						+ "<a href=\"\">self</a>"
+						+ "<a href=\"?q=1\">query</a>"
+						+ "<a href='#top'>fragment</a>"
+						+ "<a href=other.html>relative</a>"
+						+ "<a class=\"nav\" HREF=\"/root.html\">absolute path</a>"
+						+ "<a href=\"../up.html\">parent</a>"
+						+ "<a href=\"a.html?b=1&amp;c=2\">entity</a>"
+						+ "<a href=\"//example.org/x\">scheme relative</a>"
+						+ "<!-- <a href=\"commented.html\">commented</a> -->"
+						+ "</body></html>"));
+		server.createContext("/based.html", exchange -> respond(exchange, 200, "text/html",
+				"<html><head><base href=\"/base/\"></head><body><a href=\"page.html\">page</a></body></html>"));
+		server.createContext("/spa.html", exchange -> respond(exchange, 200, "text/html",
+				"<html><body><div id=\"root\"></div><a href=\"/x.html\">x</a></body></html>"));
+		server.createContext("/empty.html", exchange -> respond(exchange, 200, "text/html",
+				"<html><body><p>No links</p></body></html>"));
+		server.createContext("/doc.pdf", exchange -> respond(exchange, 200, "application/pdf", "%PDF-1.4"));
+		server.createContext("/missing.html", exchange -> respond(exchange, 404, "text/html",
+				"<html><body><a href=\"/\">home</a></body></html>"));
+		server.start();
+		siteURL = "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopServer() {
+		server.stop(0);
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body)
+			throws IOException {
+		byte[] content = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, content.length);
+		try (OutputStream responseBody = exchange.getResponseBody()) {
+			responseBody.write(content);
+		}
+	}
+
+	@Test
+	public void resolvesLinksAsTheBrowserDoes() throws InterruptedException {
+		List<String> links = new HttpPageFetcher(Collections.<String>emptyList())
+				.fetchLinks(siteURL + "/dir/page.html?x=1");
+
+		Assert.assertEquals(links, Arrays.asList(
+				siteURL + "/dir/page.html?x=1",
+				siteURL + "/dir/page.html?q=1",
+				siteURL + "/dir/page.html?x=1#top",
+				siteURL + "/dir/other.html",
+				siteURL + "/root.html",
+				siteURL + "/up.html",
+				siteURL + "/dir/a.html?b=1&c=2",
+				"http://example.org/x"));
+	}
+
+	@Test
+	public void resolvesLinksAgainstTheBaseElement() throws InterruptedException {
+		List<String> links = new HttpPageFetcher(Collections.<String>emptyList()).fetchLinks(siteURL + "/based.html");
+
+		Assert.assertEquals(links, Collections.singletonList(siteURL + "/base/page.html"));
+	}
+
+	@Test
+	public void leavesScriptRenderedPagesToTheBrowser() throws InterruptedException {
+		HttpPageFetcher fetcher = new HttpPageFetcher(Collections.<String>emptyList());
+
+		Assert.assertNull(fetcher.fetchLinks(siteURL + "/spa.html"));
+		Assert.assertNull(fetcher.fetchLinks(siteURL + "/empty.html"));
+		Assert.assertNull(fetcher.fetchLinks(siteURL + "/missing.html"));
+	}
+
+	@Test
+	public void leavesBrowserPathsToTheBrowser() throws InterruptedException {
+		Assert.assertNull(new HttpPageFetcher(Arrays.asList("/dir/")).fetchLinks(siteURL + "/dir/page.html"));
+	}
+
+	@Test
+	public void findsNoLinksInDocuments() throws InterruptedException {
+		Assert.assertEquals(new HttpPageFetcher(Collections.<String>emptyList()).fetchLinks(siteURL + "/doc.pdf"),
+				Collections.emptyList());
+	}
+
+	@Test
+	public void resolvesAgainstABaseWithoutPath() {
+		Assert.assertEquals(HttpPageFetcher.toURI(URI.create("http://example.org"), "a.html").toString(),
+				"http://example.org/a.html");
+		Assert.assertEquals(HttpPageFetcher.toURI(URI.create("http://example.org"), "").toString(),
+				"http://example.org/");
+		Assert.assertEquals(HttpPageFetcher.toURI(URI.create("http://example.org/p#old"), "#new").toString(),
+				"http://example.org/p#new");
+	}
+}
@@ -0,0 +1,138 @@
+package com.framework.webcrawler;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Results of the dead link and redirect validation kept across runs, with the
+ * ETag and Last-Modified validators of each link. A link validated within the
+ * time to live is not requested again, and an older one is revalidated with a
+ * conditional request before going through the full redirect walk
+ */
+public class LinkValidationCache {
+
+	private final File cacheFile;
+	private final long timeToLiveMillis;
+	private final Map<String, CachedLink> links = new ConcurrentHashMap<String, CachedLink>();
+
+	/**
+	 * @param cacheFile        The file the cache is kept in between runs
+	 * @param timeToLiveMillis The time for which a result is used without
+	 *                         requesting the link
+	 */
+	public LinkValidationCache(File cacheFile, long timeToLiveMillis) {
+		this.cacheFile = cacheFile;
+		this.timeToLiveMillis = timeToLiveMillis;
+	}
+
+	/**
+	 * Loads the results of the earlier runs
+	 */
+	public void load() {
+		if (!cacheFile.exists()) {
+			return;
+		}
+		try {
+			for (String line : Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+				String[] fields = line.split("\t", -1);
+				if (fields.length == 5) {
+					links.put(fields[0], new CachedLink(fields[4], fields[2], fields[3], Long.parseLong(fields[1])));
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Saves the results for the next runs
+	 */
+	public void save() {
+		Path temporaryFile = cacheFile.toPath().resolveSibling(cacheFile.getName() + ".tmp");
+		try {
+			Files.createDirectories(temporaryFile.getParent());
+			try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, CachedLink> link : links.entrySet()) {
+					CachedLink cachedLink = link.getValue();
+					writer.append(link.getKey()).append('\t').append(String.valueOf(cachedLink.validatedAt))
+							.append('\t').append(cachedLink.etag).append('\t').append(cachedLink.lastModified)
+							.append('\t').append(cachedLink.row).append('\n');
+				}
+			}
+			Files.move(temporaryFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Gets the cached result of a link
+	 * 
+	 * @param url The link
+	 * @return The cached result, or null if the link was not validated before
+	 */
+	public CachedLink get(String url) {
+		return links.get(url);
+	}
+
+	/**
+	 * Caches the result of a link
+	 * 
+	 * @param url          The link
+	 * @param row          The row of the validation report, without the line
+	 *                     break
+	 * @param etag         The ETag of the link, or an empty string
+	 * @param lastModified The Last-Modified date of the link, or an empty string
+	 */
+	public void put(String url, String row, String etag, String lastModified) {
+		links.put(url, new CachedLink(row, etag, lastModified, System.currentTimeMillis()));
+	}
+
+	public final class CachedLink {
+		private final String row;
+		private final String etag;
+		private final String lastModified;
+		private final long validatedAt;
+
+		private CachedLink(String row, String etag, String lastModified, long validatedAt) {
+			this.row = row;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.validatedAt = validatedAt;
+		}
+
+		public String getRow() {
+			return row;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * @return true if the link is to be requested again
+		 */
+		public boolean isExpired() {
+			return System.currentTimeMillis() - validatedAt > timeToLiveMillis;
+		}
+
+		/**
+		 * @return true if the link can be revalidated with a conditional request
+		 */
+		public boolean hasValidators() {
+			return !etag.isEmpty() || !lastModified.isEmpty();
+		}
+	}
+}
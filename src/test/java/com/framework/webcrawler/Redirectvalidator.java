@@ -6,34 +6,94 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.SocketTimeoutException;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import com.aventstack.extentreports.Status;
-import com.google.common.net.InternetDomainName;
 
 public class Redirectvalidator extends Report implements Callable<String>  {
 	String resourcepath="."+File.separator+"src"+File.separator+"test"+File.separator+"resources"+File.separator+"TestData";
 	private final String  sURL;
-	static BufferedWriter writer;
 	static int timeout = 20000;
-	static HashMap<String, String> redirectDetails = new HashMap<String, String>();
+	// Shared by all the validations, so that the connections to a host are kept alive and reused
+	private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+			.followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofMillis(timeout)).build();
+	static HostPoliteness hostLimits = new HostPoliteness(6, 0);
+	static LinkValidationCache linkCache;
+	private String etag = "";
+	private String lastModified = "";
 	public Redirectvalidator(String sURL) {
 		this.sURL = sURL;
 	}
 
 	@Override
 	public String call() throws Exception {
+		String row = linkCache == null ? null : getCachedRow();
+		boolean cached = row != null;
+		if (!cached) {
+			row = validate();
+			row = row.substring(0, row.length() - 1);
+		}
+		return row + "," + (cached ? "TRUE" : "FALSE") + '\n';
+	}
+
+	/**
+	 * Gets the cached result of the link if it is within its time to live, or
+	 * if a conditional request tells that the link has not changed
+	 */
+	private String getCachedRow() throws InterruptedException {
+		LinkValidationCache.CachedLink cachedLink = linkCache.get(sURL);
+		if (cachedLink == null) {
+			return null;
+		}
+		if (!cachedLink.isExpired()) {
+			return cachedLink.getRow();
+		}
+		if (!cachedLink.hasValidators()) {
+			return null;
+		}
+
+		URI uri;
+		try {
+			uri = toURI(sURL);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		HttpRequest.Builder request = newRequest(uri).method("HEAD", HttpRequest.BodyPublishers.noBody());
+		if (!cachedLink.getEtag().isEmpty())
+			request.header("If-None-Match", cachedLink.getEtag());
+		if (!cachedLink.getLastModified().isEmpty())
+			request.header("If-Modified-Since", cachedLink.getLastModified());
+		String host = uri.getHost() == null ? "" : uri.getHost();
+		hostLimits.acquire(host);
+		try {
+			if (HTTP_CLIENT.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() != 304) {
+				return null;
+			}
+		} catch (IOException e) {
+			return null;
+		} finally {
+			hostLimits.release(host);
+		}
+		linkCache.put(sURL, cachedLink.getRow(), cachedLink.getEtag(), cachedLink.getLastModified());
+		return cachedLink.getRow();
+	}
+
+	private String validate() {
 		String url = sURL;
 		String returnValue = null;
 		int status = 0;
@@ -47,33 +107,18 @@ public class Redirectvalidator extends Report implements Callable<String>  {
 			while (redirect) {
 				i++;
 				RedirectURLList.add(url);
-				URL obj = new URL(url);
-				HttpURLConnection conn = (HttpURLConnection) obj.openConnection();
-				conn.setUseCaches(false);
-				conn.setReadTimeout(timeout);
-				conn.setConnectTimeout(timeout);
-				conn.setInstanceFollowRedirects(false);
-				conn.addRequestProperty("Accept-Language", "en-US,en;q=0.8");
-				conn.addRequestProperty("User-Agent", "Mozilla");
-				status = conn.getResponseCode();
-				if (status != 200) {
-					if (status == 302 || status == 301 || status == 303) {
-						redirect = true;
-					} else {
-						redirect = false;
-					}
-				} else {
-					redirect = false;
+				HttpResponse<Void> response = request(url);
+				status = response.statusCode();
+				if (i == 1) {
+					etag = response.headers().firstValue("ETag").orElse("");
+					lastModified = response.headers().firstValue("Last-Modified").orElse("");
 				}
+				redirect = status == 302 || status == 301 || status == 303;
 				RedirectCodeList.add(Integer.valueOf(status));
 				if (redirect) {
-					String newUrl = conn.getHeaderField("Location");
-					
-					if(newUrl.startsWith("/")) {
-						URL temp = new URL(url);
-						newUrl= temp.getProtocol()+"://"+temp.getHost()+newUrl;;
-					}
-					url = newUrl;
+					String newUrl = response.headers().firstValue("Location")
+							.orElseThrow(() -> new IOException("Redirect without a Location header"));
+					url = toURI(url).resolve(newUrl.trim().replace(" ", "%20")).toString();
 				}
 				flowTest = flowTest + "->(" + status + ")" + url;
 			}
@@ -81,7 +126,10 @@ public class Redirectvalidator extends Report implements Callable<String>  {
 			boolean bFinalRedirectURLNotValid = Integer.toString(status).equals("200");
 			String sFinalRedirectURLNotValid = bFinalRedirectURLNotValid ? "PASS" : "FAIL";
 			returnValue = sURL + "," + (String) RedirectURLList.get(1) + "," + RedirectCodeList.get(0) + "," + url + "," + status + "," + (i - 1) + "," + sFinalRedirectURLNotValid + "," + flowTest + '\n';
-		} catch (SocketTimeoutException e) {
+			// Failed walks are revalidated on every run
+			if (linkCache != null && bFinalRedirectURLNotValid)
+				linkCache.put(sURL, returnValue.substring(0, returnValue.length() - 1), etag, lastModified);
+		} catch (HttpTimeoutException e) {
 			if (RedirectCodeList.size() > 0) {
 				returnValue = sURL + "," + (String) RedirectURLList.get(1) + "," + RedirectCodeList.get(0) + ",Connection Time out," + status + "," + (i) + "," + "FAIL-DeadLink" + "," + flowTest + '\n';
 			} else {
@@ -99,47 +147,97 @@ public class Redirectvalidator extends Report implements Callable<String>  {
 		}
 		return returnValue;
 	}
-	
-	@SuppressWarnings("unused")
+
+	private static URI toURI(String url) {
+		return URI.create(url.trim().replace(" ", "%20"));
+	}
+
+	/**
+	 * Requests a URL without following its redirects, within the concurrency
+	 * limit of its host. A HEAD request is tried first, and the URL is requested
+	 * again with GET when the server fails it, as some servers do not implement
+	 * HEAD
+	 */
+	private static HttpResponse<Void> request(String url) throws IOException, InterruptedException {
+		URI uri = toURI(url);
+		String host = uri.getHost() == null ? "" : uri.getHost();
+		hostLimits.acquire(host);
+		try {
+			HttpResponse<Void> response = HTTP_CLIENT.send(
+					newRequest(uri).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+					HttpResponse.BodyHandlers.discarding());
+			if (response.statusCode() >= 400) {
+				response = HTTP_CLIENT.send(newRequest(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+			}
+			return response;
+		} finally {
+			hostLimits.release(host);
+		}
+	}
+
+	private static HttpRequest.Builder newRequest(URI uri) {
+		return HttpRequest.newBuilder(uri).timeout(Duration.ofMillis(timeout))
+				.header("Accept-Language", "en-US,en;q=0.8").header("User-Agent", "Mozilla");
+	}
+
 	public static void validatelinks(String filePathCrawlDetails,String reportPath) {
 		String urlListFilePath = filePathCrawlDetails;
-		String tempRow;
-		ExecutorService executor = Executors.newFixedThreadPool(14);
-		List<Future<String>> list = new ArrayList<Future<String>>();
-		BufferedReader reader;
-		try {
-			reader = new BufferedReader(new FileReader(urlListFilePath));
+		hostLimits = new HostPoliteness(getValidationSetting("linkValidationMaxPerHost", 6), 0);
+		linkCache = null;
+		if (getValidationSetting("linkValidationCache", "TRUE").equalsIgnoreCase("true")) {
+			// The cache outlives the result folder of the run
+			linkCache = new LinkValidationCache(new File(System.getProperty("user.dir") + File.separator + "testresult"
+					+ File.separator + "LinkValidationCache.tsv"),
+					TimeUnit.MINUTES.toMillis(getValidationSetting("linkValidationCacheTTL", 1440)));
+			linkCache.load();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(getValidationSetting("linkValidationThreads", 32));
+		CompletionService<String> results = new ExecutorCompletionService<String>(executor);
+		try (BufferedReader reader = new BufferedReader(new FileReader(urlListFilePath));
+				BufferedWriter writer = new BufferedWriter(new FileWriter(reportPath + File.separator + "DeadLinkRedirectValidation.csv", true))) {
 			String line = reader.readLine();
 			line = reader.readLine();
 
+			int submitted = 0;
 			while (line != null) {
-				Callable<String> callable = new Redirectvalidator(line.trim());
-				Future<String> future = executor.submit(callable);
-				list.add(future);
+				if (!line.trim().isEmpty()) {
+					results.submit(new Redirectvalidator(line.trim()));
+					submitted++;
+				}
 				line = reader.readLine();
-
 			}
-			writer = new BufferedWriter(new FileWriter(reportPath + File.separator + "DeadLinkRedirectValidation.csv", true));
-			writer.append("SourceURL,FirstRedirectURL,RedirectCodeList,FinalRedirectURL,FinalHttpStatusCode,NoOfHops,Status,URL_Flow\n");
-			int i=0;
-			for (Future<String> fut : list) {
+
+			// The rows are written as the validations complete, in no particular order
+			writer.append("SourceURL,FirstRedirectURL,RedirectCodeList,FinalRedirectURL,FinalHttpStatusCode,NoOfHops,Status,URL_Flow,Cached\n");
+			for (int written = 1; written <= submitted; written++) {
 				try {
-					tempRow = fut.get();
-					writer.append(tempRow);
-					i++;
-				}
-				catch (InterruptedException | ExecutionException e) {
+					writer.append(results.take().get());
+				} catch (ExecutionException e) {
 					e.printStackTrace();
 				}
+				if (written % 100 == 0)
+					writer.flush();
 			}
-			writer.close();
-			reader.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		} catch (FileNotFoundException e) {
 			e.printStackTrace();
 		} catch (IOException e) {
 			e.printStackTrace();
+		} finally {
+			executor.shutdownNow();
+			if (linkCache != null)
+				linkCache.save();
 		}
-		executor.shutdown();
+	}
+
+	private static int getValidationSetting(String key, int defaultValue) {
+		return Integer.parseInt(getValidationSetting(key, String.valueOf(defaultValue)));
+	}
+
+	private static String getValidationSetting(String key, String defaultValue) {
+		String value = ReadProperties.nameMap.get(key);
+		return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
 	}
 
 	public ArrayList<String> readUniqueURLSAsArray(String crawlDetailFile){
@@ -203,11 +301,13 @@ public class Redirectvalidator extends Report implements Callable<String>  {
 		try {
 			fr = new FileReader(file);
 			BufferedReader br = new BufferedReader(fr);
-			br.readLine();
+			String header = br.readLine();
+			// Whether a row was served from the link validation cache does not take part in the comparison
+			int columns = header != null && header.endsWith(",Cached") ? -1 : 0;
 			while ((line = br.readLine()) != null) {
 				String[] arr = line.split(",");
 				String value=arr[1];
-				for(int i=2;i<arr.length;i++) {
+				for(int i=2;i<arr.length+columns;i++) {
 					value=value+"::"+arr[i];
 				}
 				hmap.put(arr[0], value);	
@@ -8,25 +8,48 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 
+import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.framework.components.ApplitoolsOperations;
+import com.framework.cucumber.DriverManager;
 import com.framework.selenium.CloudPlatformWebDriverFactory;
+import com.framework.selenium.SeleniumTestParameters;
+import com.framework.selenium.WebDriverPool;
 
 
 public class Webcrawler extends Report {
 
 	public ApplitoolsOperations appliToolops = new ApplitoolsOperations();
 	public ReadProperties propertiesReader = new ReadProperties();
-	ArrayList<String> toCrawlList = new ArrayList<String>();
-	ArrayList<String> crawledList = new ArrayList<String>();
+	CrawlFrontier toCrawlList = new CrawlFrontier();
+	CrawlUrlFilter crawlUrlFilter;
+	HostPoliteness hostPoliteness;
+	HttpPageFetcher httpPageFetcher;
+	CrawlCheckpoint crawlCheckpoint;
+	ExtentTest crawlNode;
+	List<String> crawledList = Collections.synchronizedList(new ArrayList<String>());
 	String filePathForURLlist = "";
 	String baseDomainForComp = "";
 	String currentDomain =ReadProperties.nameMap.get("currentDomain");
+	// The href property holds the absolute URL, as getAttribute("href") returns
+	private static final String PAGE_LINKS_SCRIPT = "var links = [], anchors = document.getElementsByTagName('a');"
+			+ "for (var i = 0; i < anchors.length; i++) {"
+			+ "  var href = typeof anchors[i].href === 'string' ? anchors[i].href : anchors[i].getAttribute('href');"
+			+ "  if (anchors[i].hasAttribute('href') && href) { links.push(href); }"
+			+ "}"
+			+ "return links;";
 
 	public  void RunCrawl(String filePath, String applitools) {
 		propertiesReader.getInputDataFromFile(filePath);
@@ -54,10 +77,8 @@ public class Webcrawler extends Report {
 			filePathForURLlist = destDir + File.separator + "ListOfUniqueURLtobeCrawled.txt";
 			myWriter = new FileWriter(filePathForURLlist);
 			StringBuilder sb = new StringBuilder();
-			int i = 0;
-			while (i < toCrawlList.size()) {
-				sb.append(toCrawlList.get(i)).append("\n");
-				i++;
+			for (String url : toCrawlList.getDiscoveredUrls()) {
+				sb.append(url).append("\n");
 			}
 			myWriter.write(sb.toString());
 			myWriter.close();
@@ -187,120 +208,201 @@ public class Webcrawler extends Report {
 	public void crawlWebPage(String applittools) {
 		rpt = extent.createTest("Webcrawl URL navigation").createNode("Webcrawl URL navigation");
 		extentest.set(rpt);
-		StringBuilder webCrawlReport = new StringBuilder();
-		webCrawlReport.append("BaseURL,href").append("\n");
-		if(!baseURL.equals("{url}"))
-			toCrawlList.add(baseURL);
-		int lCount = 0;
-		List<WebElement> links = null;
-		String[] apprdDomainList = ReadProperties.nameMap.get("allowedDomainToCrawl").split("\\;");
-		String[] restrdDomainList = ReadProperties.nameMap.get("domainRestrcitionForCrawl").split("\\;");
-		while (toCrawlList.size() > lCount) {
-			String CurrentURL = baseURL;
-			System.out.println("lCount: " + lCount + "and toCrawlList size: " + toCrawlList.size());
+		// The report node is logged to by all the crawl sessions
+		crawlNode = rpt;
+		crawlUrlFilter = new CrawlUrlFilter();
+		toCrawlList = new CrawlFrontier(getCrawlSetting("crawlMaxPages", 0), getCrawlSetting("crawlMaxDepth", 0));
+		crawledList.clear();
+		int sessions = getCrawlSetting("crawlSessions", 1);
+		hostPoliteness = new HostPoliteness(getCrawlSetting("crawlMaxSessionsPerHost", sessions),
+				getCrawlSetting("crawlHostDelay", 0));
 
-			if (lCount >= 0) {
-				try {
-					if(lCount>99 && toCrawlList.size() >200 )
-						break;
-					String applitoolsName = "";
-					if (applittools.equalsIgnoreCase("true")) {
-						applitoolsName = toCrawlList.get(lCount);
-						applitoolsName = applitoolsName.replace("https://", "").replace("http://", "")
-								.replace(currentDomain, "Webcrawler_");
-						applitoolsName = applitoolsName.replace("/", "_");
-						applitoolsName = applitoolsName.replace(".", "_");
-						applitoolsName = applitoolsName.replace("#", "_");
-						appliToolops.invokeAppliTools(applitoolsName);
-					}
-					System.out.println(toCrawlList.get(lCount));
-					driver.get(toCrawlList.get(lCount));
-					CloudPlatformWebDriverFactory.captureSaucescreener("screen"+lCount);
-					crawledList.add(toCrawlList.get(lCount));
-					extentest.get().log(Status.INFO, "Web crawling executed for "+toCrawlList.get(lCount));
-					CurrentURL = toCrawlList.get(lCount);
+		// Applitools checks and screenshots need every page in the browser
+		httpPageFetcher = null;
+		if (getCrawlSetting("crawlMode", "BROWSER").equalsIgnoreCase("HTTP_FIRST") && !applittools.equalsIgnoreCase("true"))
+			httpPageFetcher = new HttpPageFetcher(Arrays.asList(getCrawlSetting("crawlBrowserPaths", "").split("\\;")));
 
-					if (applittools.equalsIgnoreCase("true")) {
-						appliToolops.captureContent("");
-						appliToolops.closeAppliTools();
-					}
-				} catch (Exception e) {
-				}
+		// The checkpoint outlives the result folder of the run, so that a restarted crawl finds it
+		crawlCheckpoint = new CrawlCheckpoint(new File(System.getProperty("user.dir") + File.separator + "testresult"
+				+ File.separator + "WebCrawlCheckpoint_" + baseURL.replaceAll("[^A-Za-z0-9]", "_") + ".log"),
+				getCrawlSetting("crawlCheckpointInterval", 10));
+		boolean completed = false;
+		try (CrawlReportWriter webCrawlReport = new CrawlReportWriter(destDir + File.separator + "WebCrawlReport.csv")) {
+			boolean resumed = getCrawlSetting("crawlResume", "TRUE").equalsIgnoreCase("true")
+					&& crawlCheckpoint.restore(toCrawlList, webCrawlReport, crawledList);
+			if (resumed)
+				crawlNode.log(Status.INFO, "Web crawling resumed after " + crawledList.size() + " pages");
+			crawlCheckpoint.open(resumed);
+			if (!resumed && !baseURL.equals("{url}") && toCrawlList.add(baseURL, 0))
+				crawlCheckpoint.discovered(baseURL, 0);
 
-			} else if (lCount != 0 && toCrawlList.size() == lCount) {
-				System.out.println("Execution Completed");
-				System.out.println("toCrawlList size: " + toCrawlList.size());
-				System.out.println("lCount: " + lCount);
-				break;
+			// Applitools checks run on the single driver of the scenario
+			if (sessions > 1 && !applittools.equalsIgnoreCase("true")) {
+				crawlConcurrently(sessions, webCrawlReport);
+			} else {
+				crawlSequentially(applittools, webCrawlReport);
 			}
+			completed = !Thread.currentThread().isInterrupted();
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			crawlCheckpoint.close(completed);
+		}
+		System.out.println("toCrawlList size: " + toCrawlList.size());
+		System.out.println("crawled pages: " + crawledList.size());
+	}
+
+	private void crawlSequentially(String applittools, CrawlReportWriter webCrawlReport) {
+		int lCount = 0;
+		String nextURL;
+		while ((nextURL = toCrawlList.next()) != null) {
+			System.out.println("lCount: " + lCount + "and toCrawlList size: " + toCrawlList.size());
 			try {
-				links = driver.findElements(By.tagName("a"));
+				String applitoolsName = "";
+				if (applittools.equalsIgnoreCase("true")) {
+					applitoolsName = nextURL;
+					applitoolsName = applitoolsName.replace("https://", "").replace("http://", "")
+							.replace(currentDomain, "Webcrawler_");
+					applitoolsName = applitoolsName.replace("/", "_");
+					applitoolsName = applitoolsName.replace(".", "_");
+					applitoolsName = applitoolsName.replace("#", "_");
+					appliToolops.invokeAppliTools(applitoolsName);
+				}
+				crawlPage(driver, nextURL, lCount, webCrawlReport);
+
+				if (applittools.equalsIgnoreCase("true")) {
+					appliToolops.captureContent("");
+					appliToolops.closeAppliTools();
+				}
+			} catch (InterruptedException e) {
+				// The crawl is stopped, and resumes from the checkpoint
+				Thread.currentThread().interrupt();
+				break;
 			} catch (Exception e) {
-				e.printStackTrace();
-				System.out.println("Exception to get tag name a");
+				crawlNode.log(Status.WARNING, "Web crawling failed for " + nextURL + ": " + e.getMessage());
 			}
-			ArrayList<String> refLinks = new ArrayList<>();
-			String linkURL = null;
-			for (int i = 0; i <= links.size() - 1; i++) {
-				try {
-					linkURL = links.get(i).getAttribute("href");// String linktext1=links.get(i).getText();
-				} catch (Exception e) {
-					e.printStackTrace();
+			lCount++;
+		}
+	}
+
+	/**
+	 * Crawls with several browser sessions pulling from the shared frontier. The
+	 * first session is the driver of the scenario, the others are started (or
+	 * taken from the WebDriver pool) for the crawl
+	 */
+	private void crawlConcurrently(int sessions, CrawlReportWriter webCrawlReport) {
+		SeleniumTestParameters testParameters = DriverManager.getTestParameters();
+		AtomicInteger pageCount = new AtomicInteger();
+		AtomicBoolean interrupted = new AtomicBoolean();
+		ExecutorService crawlSessions = Executors.newFixedThreadPool(sessions);
+		for (int session = 0; session < sessions; session++) {
+			final int sessionNumber = session;
+			crawlSessions.execute(() -> {
+				WebDriver sessionDriver = sessionNumber == 0 ? driver
+						: DriverManager.acquireWebDriver(testParameters, "WebCrawler session " + sessionNumber);
+				if (sessionDriver == null) {
+					return;
 				}
-				if (linkURL != null) {
-					refLinks.add(linkURL);
-					if(linkURL.replaceFirst("https://", "").replaceFirst("http://", "").split("/")[0].contains(ReadProperties.nameMap.get("BaseDomain"))) {
-						if (!(linkURL.startsWith("javascript:") || linkURL.startsWith("market:")
-								|| linkURL.startsWith("mailto:") || linkURL.contains("survey.clicktools") //Added by muthu
-								|| linkURL.contains(".com/#") )) //Added by muthu
-							webCrawlReport.append(CurrentURL + "," + linkURL).append("\n");
+				try {
+					String nextURL;
+					while ((nextURL = toCrawlList.take()) != null) {
+						try {
+							crawlPage(sessionDriver, nextURL, pageCount.getAndIncrement(), webCrawlReport);
+						} catch (InterruptedException e) {
+							interrupted.set(true);
+							Thread.currentThread().interrupt();
+							break;
+						} catch (Exception e) {
+							crawlNode.log(Status.WARNING, "Web crawling failed for " + nextURL + ": " + e.getMessage());
+						} finally {
+							toCrawlList.complete();
+						}
+					}
+				} catch (InterruptedException e) {
+					interrupted.set(true);
+					Thread.currentThread().interrupt();
+				} finally {
+					if (sessionNumber != 0) {
+						WebDriverPool.getInstance().checkIn(sessionDriver);
 					}
-					restrictedURL(linkURL,apprdDomainList,restrdDomainList);
 				}
-			}
-			lCount++;
+			});
+		}
+		crawlSessions.shutdown();
+		try {
+			crawlSessions.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		} catch (InterruptedException e) {
+			crawlSessions.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		if (interrupted.get()) {
+			// The crawl did not complete, so its checkpoint is kept
+			Thread.currentThread().interrupt();
 		}
-		System.out.println("toCrawlList size: " + toCrawlList.size());
-		System.out.println("lCount: " + lCount);
-		writeWebCrawlReport(webCrawlReport);
 	}
 
-	public void writeWebCrawlReport(StringBuilder webCrawlReport) {
-		FileWriter myWriter;
+	/**
+	 * Loads a page within the politeness limits of its host, and adds its links
+	 * to the crawl report and to the frontier
+	 */
+	private void crawlPage(WebDriver sessionDriver, String pageURL, int pageNumber,
+			CrawlReportWriter webCrawlReport) throws InterruptedException {
+		String host = CrawlUrlFilter.getHost(pageURL);
+		List<String> pageLinks = null;
+		hostPoliteness.acquire(host);
 		try {
-			filePathForURLlist = destDir + File.separator + "WebCrawlReport.csv";
-			myWriter = new FileWriter(filePathForURLlist);
-			myWriter.write(webCrawlReport.toString());
-			myWriter.close();
-		} catch (IOException e) {
-			e.printStackTrace();
+			System.out.println(pageURL);
+			if (httpPageFetcher != null)
+				pageLinks = httpPageFetcher.fetchLinks(pageURL);
+			if (pageLinks == null)
+				sessionDriver.get(pageURL);
+		} finally {
+			hostPoliteness.release(host);
 		}
+		if (pageLinks == null) {
+			if (sessionDriver == driver)
+				CloudPlatformWebDriverFactory.captureSaucescreener("screen"+pageNumber);
+			pageLinks = getPageLinks(sessionDriver);
+			crawlNode.log(Status.INFO, "Web crawling executed for "+pageURL);
+		} else {
+			crawlNode.log(Status.INFO, "Web crawling executed over HTTP for "+pageURL);
+		}
+		crawledList.add(pageURL);
+
+		List<String> reportedLinks = new ArrayList<String>();
+		int linkDepth = toCrawlList.getDepth(pageURL) + 1;
+		for (String linkURL : pageLinks) {
+			if (crawlUrlFilter.isReportable(linkURL))
+				reportedLinks.add(linkURL);
+			String crawlableURL = crawlUrlFilter.getCrawlableUrl(linkURL);
+			if (crawlableURL != null && toCrawlList.add(crawlableURL, linkDepth))
+				crawlCheckpoint.discovered(crawlableURL, linkDepth);
+		}
+		webCrawlReport.writeLinks(pageURL, reportedLinks);
+		crawlCheckpoint.crawled(pageURL, reportedLinks);
+	}
+
+	private static int getCrawlSetting(String key, int defaultValue) {
+		return Integer.parseInt(getCrawlSetting(key, String.valueOf(defaultValue)));
 	}
 
-	public void restrictedURL(String linkURL, String[] apprdDomainList, String[] restrdDomainList) {
+	private static String getCrawlSetting(String key, String defaultValue) {
+		String value = ReadProperties.nameMap.get(key);
+		return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+	}
+
+	/**
+	 * Gets the href of all the links of the current page in a single script call
+	 */
+	@SuppressWarnings("unchecked")
+	private List<String> getPageLinks(WebDriver sessionDriver) {
 		try {
-			if(stringContainsItemFromList(linkURL.replace("https://", "").replace("http://", ""),apprdDomainList )){
-				if(!stringContainsItemFromList(linkURL,restrdDomainList))
-					if (!(linkURL.contains("http://digg.com/") || linkURL.contains("http://del.icio.us/")
-							|| linkURL.contains("http://reddit.com/")
-							|| linkURL.contains("http://www.facebook.com/")
-							|| linkURL.contains("https://survey.clicktools.com/")
-							|| linkURL.contains("/cookie-notice/notice") //Added by muthu
-							|| linkURL.contains("http://www.stumbleupon.com/")
-							|| linkURL.contains("http://twitter.com/") || linkURL.contains("not-found")
-							|| linkURL.contains("session=")
-							|| linkURL.contains("auth/Account")
-							|| linkURL.contains("media"))) {
-						if (linkURL.contains("#")) {
-							String[] parts = linkURL.split("#");
-							linkURL = parts[0];
-						}
-						if (!toCrawlList.contains(linkURL) && linkURL.replaceFirst("https://", "").replaceFirst("http://", "").split("/")[0].contains(ReadProperties.nameMap.get("BaseDomain")))
-							toCrawlList.add(linkURL);
-					}
-			}
+			List<String> links = (List<String>) ((JavascriptExecutor) sessionDriver).executeScript(PAGE_LINKS_SCRIPT);
+			return links == null ? new ArrayList<String>() : links;
 		} catch (Exception e) {
 			e.printStackTrace();
+			System.out.println("Exception to get tag name a");
+			return new ArrayList<String>();
 		}
 	}
 
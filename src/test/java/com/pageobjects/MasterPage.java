@@ -1,14 +1,21 @@
 package com.pageobjects;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
@@ -17,6 +24,8 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import com.framework.cucumber.TestHarness;
 import com.framework.report.Status;
+import com.framework.reusable.LoadingOverlayWatcher;
+import com.framework.reusable.LocatorTemplateRegistry;
 import com.framework.reusable.WebReusableComponents;
 
 public class MasterPage extends WebReusableComponents {
@@ -84,6 +93,10 @@ public class MasterPage extends WebReusableComponents {
 	public static final String commonCheckBoxDemoR_2="(//*[ @type='checkbox']/..//input[@class='var1'])[var2]";
 	
 	
+	// Compiled once from the locator templates above, instead of per field action
+	private static final LocatorTemplateRegistry LOCATORS = LocatorTemplateRegistry.forClass(MasterPage.class);
+	private static final LoadingOverlayWatcher LOADING_OVERLAY = new LoadingOverlayWatcher("lip.loadingNotification");
+	
 	public int numberAntragsteller = 1;
 	public int numberBetroffene = 0;
 	
@@ -98,33 +111,29 @@ public class MasterPage extends WebReusableComponents {
 	}
 	
 	public void downloadXML(String elementType, String name) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name);
+		By element = LOCATORS.getXpath(elementType, name, "");
 		JavascriptExecutor js = (JavascriptExecutor)driver;
-		js.executeScript("LIP.form.ajaxUpdate ('/form/runScript.do?script=xSozialXSLT')", driver.findElement(By.xpath(element)));
+		js.executeScript("LIP.form.ajaxUpdate ('/form/runScript.do?script=xSozialXSLT')", driver.findElement(element));
 		waitUntil(5);
 		clickElement(lnkdownloadXML);
 		this.handlePageLoading();
 	}
 
 	public void setCommonCheckBoxOnOff(String elementType, String name) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, name, "");
+		clickElement(element);
 		this.handlePageLoading();
 	}
 	
 	public void clickCommonRadioButton(String elementType, String name, String selectByValue) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name,selectByValue);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, name, selectByValue);
+		clickElement(element);
 		this.handlePageLoading();
 	}
 	
 	public void clickCommonRadioButton_2(String elementType, String name, String index, String selectByValue) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name,selectByValue,index);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, name, selectByValue, index);
+		clickElement(element);
 		this.handlePageLoading();
 	}
 	
@@ -134,52 +143,45 @@ public class MasterPage extends WebReusableComponents {
 	}
 	
 	public void selectCommonDropdown(String elementType, String name, String selectByValue) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name);
-		selectDropdownByValue(generateLocator("XPATH",element),selectByValue);
+		By element = LOCATORS.getXpath(elementType, name, "");
+		selectDropdownByValue(element,selectByValue);
 		this.handlePageLoading();
 	}
 
 	public void selectCommonDropdown_2(String elementType, String name_1,String value, String selectByValue, String valueIndex) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name_1,value);
-		selectDropdownByValue(generateLocator("XPATH",element),selectByValue, valueIndex);
+		By element = LOCATORS.getXpath(elementType, name_1, value);
+		selectDropdownByValue(element,selectByValue, valueIndex);
 		this.handlePageLoading();
 	}
 
 	public void clickCommonButton(String elementType, String name) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, name, "");
+		clickElement(element);
 		this.handlePageLoading();
 	}
 	
 	public void clickCommonButton_Index(String elementType, String name, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name,index);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, name, index);
+		clickElement(element);
 		handlePageLoading();
 	}
 	
 	public void clickButtonById(String elementType, String id, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage, elementType),id,index);
-		clickElement(generateLocator("XPATH", element));
+		By element = LOCATORS.getXpath(elementType, id, index);
+		clickElement(element);
 		handlePageLoading();
 	}
 	
 
 	public void enterCommonTextBox(String elementType, String name, String textToType) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name);
-		enterText(generateLocator("XPATH",element),textToType);
+		By element = LOCATORS.getXpath(elementType, name, "");
+		enterText(element,textToType);
 		this.handlePageLoading();
 	}
 
 	public void enterCommonTextBox_2(String elementType, String name_1, String name_2, String textToType) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType), name_1, name_2);
-		enterText(generateLocator("XPATH",element),textToType);
+		By element = LOCATORS.getXpath(elementType, name_1, name_2);
+		enterText(element,textToType);
 		handlePageLoading();
 	}
 	
@@ -192,6 +194,24 @@ public class MasterPage extends WebReusableComponents {
 	}
 	
 	public void handlePageLoading() {
+		long elapsedTime;
+		try {
+			elapsedTime = LOADING_OVERLAY.awaitIdle(driver, Duration.ofSeconds(30));
+		} catch (TimeoutException e) {
+			throw e;
+		} catch (WebDriverException e) {
+			// The page does not allow asynchronous scripts, so poll for the overlay
+			pollPageLoading();
+			return;
+		}
+		
+		if (elapsedTime > 0) {
+			totalLoading += elapsedTime;
+			addTestLog("handlePageLoading", "Loading ended in " + elapsedTime + " milliseconds. (total = " + totalLoading + ")",Status.PASS);
+		}
+	}
+	
+	private void pollPageLoading() {
 		try {			
 			driver.manage().timeouts().implicitlyWait(implicitWaitInMilliSeconds,TimeUnit.MILLISECONDS);
 			WebDriverWait w = new WebDriverWait(driver, Duration.ofSeconds(30));
@@ -236,42 +256,55 @@ public class MasterPage extends WebReusableComponents {
 	
 	
 	public void selectDropdownById(String elementType, String id, String selectByValue, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),id, index);
-		selectDropdownByValue(generateLocator("XPATH",element),selectByValue,"last()");
+		By element = LOCATORS.getXpath(elementType, id, index);
+		selectDropdownByValue(element,selectByValue,"last()");
 		handlePageLoading();
 	}
 	
+	public boolean fillFieldsById(String elementType, Map<String, String> idValues, String index) {
+		return fillFieldsById(elementType, idValues, index, Collections.<String>emptySet());
+	}
+	
+	public boolean fillFieldsById(String elementType, Map<String, String> idValues, String index, Set<String> nativeTypingIds) {
+		Map<By, String> fields = new LinkedHashMap<By, String>();
+		Set<By> nativeTypingFields = new HashSet<By>();
+		for (Map.Entry<String, String> idValue : idValues.entrySet()) {
+			By element = LOCATORS.getXpath(elementType, idValue.getKey(), index);
+			fields.put(element, idValue.getValue());
+			if (nativeTypingIds.contains(idValue.getKey())) {
+				nativeTypingFields.add(element);
+			}
+		}
+		boolean allFilled = fillForm(fields, nativeTypingFields);
+		handlePageLoading();
+		return allFilled;
+	}
+	
 	public void enterTextBoxById(String elementType, String name, String textToType, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name, index);
-		enterText(generateLocator("XPATH",element),textToType);
+		By element = LOCATORS.getXpath(elementType, name, index);
+		enterText(element,textToType);
 		handlePageLoading();
 	}
 	
 	public void clickTextBoxById(String elementType, String name, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),name, index);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, name, index);
+		clickElement(element);
 		handlePageLoading();
 	}
 	
 	public void clickRadioButtonById(String elementType, String id, String selectByValue, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),id,selectByValue, index);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, id, selectByValue, index);
+		clickElement(element);
 		handlePageLoading();
 	}
 	
 	public void setCheckBoxById(String elementType, String id, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),id, index);
-		clickElement(generateLocator("XPATH",element));
+		By element = LOCATORS.getXpath(elementType, id, index);
+		clickElement(element);
 	}
 	public void assertElementWithTextLocated(String elementType, String text, String index) {
-		MasterPage masterPage = new MasterPage();
-		String element=replaceLocator(getValue(masterPage,elementType),text,index);
-		waitUntilElementLocated(By.xpath(element), 5);
+		By element = LOCATORS.getXpath(elementType, text, index);
+		waitUntilElementLocated(element, 5);
 	}
 
 	public void clickElementByXpath(String xpath) {
@@ -344,7 +377,7 @@ public class MasterPage extends WebReusableComponents {
 				+ "getElementByXpath(\""+element+"\").style.opacity='1';";
 		((JavascriptExecutor) driver).executeScript(jsGetElementByXpath + jsScript);
 		w.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(element)));
-		uploadFile(generateLocator("XPATH",element),fileName);
+		uploadFile(By.xpath(element),fileName);
 	}
 
 	public void uploadFile(By by, String fileName) {
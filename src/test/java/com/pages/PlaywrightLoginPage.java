@@ -1,8 +1,13 @@
 package com.pages;
 
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
 import com.framework.components.ScriptHelper;
+import com.framework.cucumber.DriverManager;
 import com.framework.playwright.BasePage;
 import com.framework.playwright.PlaywrightElement;
+import com.framework.playwright.StorageStateCache;
 import com.framework.playwright.annotations.FindBy;
 import com.framework.report.Status;
 import com.microsoft.playwright.Page;
@@ -94,6 +99,55 @@ public class PlaywrightLoginPage extends BasePage {
         return new PlaywrightInventoryPage(page);
     }
     
+    /**
+     * Log in reusing the storage state cached by an earlier login of the same
+     * user, role and environment, and log in through the UI (caching its
+     * storage state) when there is none or the application rejects it.
+     * The cached state is applied to a fresh browser context, so page objects
+     * created before this call must be re-created from DriverManager.getPage()
+     */
+    public PlaywrightInventoryPage loginWithCachedSession(String username, String password, String role) {
+        StorageStateCache storageStateCache = StorageStateCache.getInstance();
+        if (!storageStateCache.isEnabled()) {
+            navigateToPage();
+            return login(username, password);
+        }
+        
+        String cacheKey = StorageStateCache.getCacheKey(username, role,
+                properties.getProperty("defaultEnvironment"));
+        ReentrantLock loginLock = storageStateCache.getLoginLock(cacheKey);
+        loginLock.lock();
+        try {
+            Path storageState = storageStateCache.getStorageState(cacheKey);
+            if (storageState != null) {
+                DriverManager.renewPlaywrightContext(storageState);
+                Page cachedSessionPage = DriverManager.getPage();
+                cachedSessionPage.navigate(storageStateCache.getLandingUrl(cacheKey));
+                PlaywrightInventoryPage inventoryPage = new PlaywrightInventoryPage(cachedSessionPage);
+                if (inventoryPage.isPageLoaded()) {
+                    addTestLog("Login", "Logged in with the cached session of " + username, Status.PASS);
+                    return inventoryPage;
+                }
+                
+                // The session has expired or was revoked on the server side
+                storageStateCache.invalidate(cacheKey);
+                DriverManager.renewPlaywrightContext(null);
+            }
+            
+            PlaywrightLoginPage loginPage = DriverManager.getPage() == page ? this
+                    : new PlaywrightLoginPage(DriverManager.getPage());
+            loginPage.navigateToPage();
+            PlaywrightInventoryPage inventoryPage = loginPage.login(username, password);
+            if (inventoryPage.isPageLoaded()) {
+                storageStateCache.saveStorageState(cacheKey, DriverManager.getBrowserContext(),
+                        DriverManager.getPage().url());
+            }
+            return inventoryPage;
+        } finally {
+            loginLock.unlock();
+        }
+    }
+    
     public void enterCredentials(String username, String password) {
         enterUsername(username);
         enterPassword(password);
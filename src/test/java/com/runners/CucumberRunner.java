@@ -40,7 +40,9 @@ public class CucumberRunner extends AbstractTestNGCucumberTests {
 	/**
 	 * Please enable parallel = true for executing scenarios in Parallel Also
 	 * number of Parallel Threads can be controlled in suite-xml file with
-	 * parameter data-provider-thread-count="1"
+	 * parameter data-provider-thread-count="1". The test data of each
+	 * scenario is held per thread by the DriverManager, so parallel scenarios
+	 * do not share it
 	 */
 	
 	@Override
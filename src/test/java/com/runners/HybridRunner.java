@@ -20,21 +20,28 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.openqa.selenium.Platform;
 import com.framework.components.ApplitoolsOperations;
 import com.framework.components.FrameworkParameters;
 import com.framework.components.IterationOptions;
 import com.framework.components.ParallelExecution;
 import com.framework.components.Settings;
+import com.framework.components.TestDurationHistory;
 import com.framework.components.ToolName;
 import com.framework.data.ExcelDataAccessforxlsm;
 import com.framework.report.ResultSummaryManager;
 import com.framework.report.Util;
+import com.framework.reusable.WebReusableComponents;
 import com.framework.selenium.Browser;
 import com.framework.selenium.ExecutionMode;
 import com.framework.selenium.MobileExecutionPlatform;
@@ -101,17 +108,22 @@ public class HybridRunner {
 	}
 
 	/**
-	 * To execute test in batch run
+	 * To execute test in batch run. The tests are scheduled longest first, as
+	 * per their execution time in the previous batches, on a work-stealing
+	 * pool of threads
 	 * @param nThreads - Number of threads
 	 * @return
 	 */
 	private int executeTestBatch(int nThreads) {
 		List<SeleniumTestParameters> testInstancesToRun = getRunInfo(frameworkParameters.getRunConfiguration());
-		ExecutorService parallelExecutor = Executors.newFixedThreadPool(nThreads);
-		ParallelExecution testRunner = null;
+		TestDurationHistory durationHistory = TestDurationHistory.getInstance();
+		long[] predictedDurations = scheduleLongestFirst(testInstancesToRun, durationHistory);
+		long predictedExecutionTime = predictExecutionTime(predictedDurations, nThreads);
 
+		long startTime = System.currentTimeMillis();
+		ExecutorService parallelExecutor = Executors.newWorkStealingPool(nThreads);
 		for (int currentTestInstance = 0; currentTestInstance < testInstancesToRun.size(); currentTestInstance++) {
-			testRunner = new ParallelExecution(testInstancesToRun.get(currentTestInstance));
+			ParallelExecution testRunner = new ParallelExecution(testInstancesToRun.get(currentTestInstance));
 			parallelExecutor.execute(testRunner);
 
 			if (frameworkParameters.getStopExecution()) {
@@ -120,17 +132,94 @@ public class HybridRunner {
 		}
 		parallelExecutor.shutdown();
 
-		while (!parallelExecutor.isTerminated()) {
-			long endTime = System.currentTimeMillis()+ (3 * 1000);
-			while (System.currentTimeMillis()< endTime) {
+		try {
+			while (!parallelExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+				// Keep waiting until every test instance has completed
 			}
+		} catch (InterruptedException e) {
+			parallelExecutor.shutdownNow();
+			Thread.currentThread().interrupt();
 		}
 
-		if (testRunner == null) {
-			return 0;
-		} else {
-			return testRunner.getTestBatchStatus();
+		durationHistory.save();
+		Date batchStart = new Date(startTime);
+		System.out.println("Predicted execution time: "
+				+ (predictedExecutionTime < 0 ? "N/A (no history)"
+						: WebReusableComponents.getTimeDifference(new Date(0), new Date(predictedExecutionTime)))
+				+ ", Actual execution time: "
+				+ WebReusableComponents.getTimeDifference(batchStart, new Date()));
+
+		return resultSummaryManager.getTestBatchStatus();
+	}
+
+	/**
+	 * To sort the test instances longest first, as per their historical
+	 * execution time. Tests without any history are assumed to take the average
+	 * time of the others, and keep their Run Manager order among equals
+	 * @param testInstancesToRun - The test instances (sorted in place)
+	 * @param durationHistory - The {@link TestDurationHistory}
+	 * @return The predicted execution time of each test instance, in the sorted
+	 *         order (all -1 if none of the tests has any history)
+	 */
+	private long[] scheduleLongestFirst(List<SeleniumTestParameters> testInstancesToRun,
+			TestDurationHistory durationHistory) {
+		Map<SeleniumTestParameters, Long> durations = new IdentityHashMap<SeleniumTestParameters, Long>();
+		long totalKnownDuration = 0;
+		int knownDurations = 0;
+		for (SeleniumTestParameters testParameters : testInstancesToRun) {
+			long duration = durationHistory.getDuration(testParameters);
+			durations.put(testParameters, duration);
+			if (duration >= 0) {
+				totalKnownDuration += duration;
+				knownDurations++;
+			}
+		}
+
+		long[] predictedDurations = new long[testInstancesToRun.size()];
+		if (knownDurations == 0) {
+			Arrays.fill(predictedDurations, -1);
+			return predictedDurations;
+		}
+
+		long averageDuration = totalKnownDuration / knownDurations;
+		for (Map.Entry<SeleniumTestParameters, Long> duration : durations.entrySet()) {
+			if (duration.getValue() < 0) {
+				duration.setValue(averageDuration);
+			}
+		}
+		// List.sort is stable, so equal tests keep their Run Manager order
+		testInstancesToRun.sort(Comparator.comparingLong(
+				(SeleniumTestParameters testParameters) -> durations.get(testParameters)).reversed());
+
+		for (int i = 0; i < predictedDurations.length; i++) {
+			predictedDurations[i] = durations.get(testInstancesToRun.get(i));
+		}
+		return predictedDurations;
+	}
+
+	/**
+	 * To predict the wall-clock time of the batch, by assigning each test (in
+	 * the scheduled order) to the thread which becomes free first
+	 * @param predictedDurations - The predicted execution time of each test
+	 * @param nThreads - Number of threads
+	 * @return The predicted execution time in milliseconds (-1 if unknown)
+	 */
+	private long predictExecutionTime(long[] predictedDurations, int nThreads) {
+		if (predictedDurations.length == 0 || predictedDurations[0] < 0) {
+			return -1;
+		}
+
+		PriorityQueue<Long> threadFreeTimes = new PriorityQueue<Long>();
+		for (int i = 0; i < Math.min(nThreads, predictedDurations.length); i++) {
+			threadFreeTimes.add(0L);
+		}
+		long executionTime = 0;
+		for (long duration : predictedDurations) {
+			long endTime = threadFreeTimes.poll() + duration;
+			threadFreeTimes.add(endTime);
+			executionTime = Math.max(executionTime, endTime);
 		}
+		return executionTime;
 	}
 
 	/**